@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bulk hashing of a column of sorted epoch milliseconds, a few milliseconds apart,
+ * and bulk unhashing of the resulting column, against handling each value on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"MILLIS", "NANOS"})
+    private String precision;
+
+    private SubSecond handler;
+    private long[] epochMillis;
+    private char[] chars;
+    private byte[] bytes;
+    private String[] hashes;
+    private long[] epochNanos;
+    private BitSet invalid;
+
+    @Setup
+    public void setUp() {
+        handler = SubSecond.valueOf(precision);
+        Random random = new Random(0);
+        long start = LocalDateTime.of(2017, 1, 2, 3, 45).toInstant(ZoneOffset.UTC)
+                .toEpochMilli();
+        epochMillis = new long[size];
+        for (int i = 0; i < size; i++) {
+            epochMillis[i] = start += random.nextInt(5);
+        }
+        chars = new char[size * handler.length()];
+        bytes = new byte[size * handler.length()];
+        TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, chars, 0);
+        TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, bytes, 0);
+        hashes = new String[size];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = TimeHashUtils.hashEpochMilli(epochMillis[i], handler);
+        }
+        epochNanos = new long[size];
+        invalid = new BitSet(size);
+    }
+
+    @Benchmark
+    public char[] bulkChars() {
+        TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public byte[] bulkBytes() {
+        TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, bytes, 0);
+        return bytes;
+    }
+
+    @Benchmark
+    public char[] perValue() {
+        int stride = handler.length();
+        for (int i = 0; i < size; i++) {
+            TimeHashUtils.hashEpochMilli(epochMillis[i], handler)
+                    .getChars(0, stride, chars, i * stride);
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public long[] bulkUnhashStrings() {
+        TimeHashUtils.unhash(hashes, epochNanos, invalid);
+        return epochNanos;
+    }
+
+    @Benchmark
+    public long[] bulkUnhashChars() {
+        TimeHashUtils.unhash(chars, 0, handler.length(), handler, epochNanos, invalid);
+        return epochNanos;
+    }
+
+    @Benchmark
+    public long[] bulkUnhashBytes() {
+        TimeHashUtils.unhash(bytes, 0, handler.length(), handler, epochNanos, invalid);
+        return epochNanos;
+    }
+
+    @Benchmark
+    public long[] perValueUnhash() {
+        for (int i = 0; i < size; i++) {
+            epochNanos[i] = TimeHashUtils.unhashToEpochNanos(hashes[i]);
+        }
+        return epochNanos;
+    }
+
+}
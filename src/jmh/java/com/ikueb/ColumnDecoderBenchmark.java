@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.ColumnDecoder;
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link TimeHashUtils#SCALAR_DECODER} against {@link TimeHashUtils#COLUMN_DECODER}
+ * for unhashing a column of ASCII values. The latter is only the vectorized implementation
+ * when the forked JVM runs on Java 16 or later with {@code --add-modules jdk.incubator.vector}
+ * and has the Java 17 classes on its classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnDecoderBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    @Param({"MILLIS", "NANOS"})
+    private String precision;
+
+    @Param({"SCALAR", "DEFAULT"})
+    private String decoding;
+
+    private SubSecond handler;
+    private ColumnDecoder decoder;
+    private byte[] bytes;
+    private long[] epochNanos;
+    private BitSet invalid;
+
+    @Setup
+    public void setUp() {
+        handler = SubSecond.valueOf(precision);
+        decoder = decoding.equals("SCALAR")
+                ? TimeHashUtils.SCALAR_DECODER : TimeHashUtils.COLUMN_DECODER;
+        Random random = new Random(0);
+        long start = LocalDateTime.of(2017, 1, 2, 3, 45).toInstant(ZoneOffset.UTC)
+                .toEpochMilli();
+        long[] epochMillis = new long[size];
+        for (int i = 0; i < size; i++) {
+            epochMillis[i] = start += random.nextInt(5);
+        }
+        bytes = new byte[size * handler.length()];
+        TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, bytes, 0);
+        epochNanos = new long[size];
+        invalid = new BitSet(size);
+    }
+
+    @Benchmark
+    public long[] unhash() {
+        TimeHashUtils.unhash(bytes, 0, handler.length(), handler, epochNanos, invalid,
+                decoder);
+        return epochNanos;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.Encoder;
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link Encoder#ARITHMETIC} and {@link Encoder#TABLE} encoders for every
+ * {@link SubSecond} value, over a day's worth of varying date-times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EncoderBenchmark {
+
+    private static final int SIZE = 1 << 12;
+
+    @Param({"TRIM", "MILLIGROUP", "MILLIS", "MICROGROUP", "NANOGROUP", "QUADNANO", "NANOS"})
+    private String precision;
+
+    @Param({"ARITHMETIC", "TABLE"})
+    private String encoding;
+
+    private final LocalDateTime[] values = new LocalDateTime[SIZE];
+    private final char[] chars = new char[12];
+    private SubSecond handler;
+    private Encoder encoder;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        handler = SubSecond.valueOf(precision);
+        encoder = Encoder.valueOf(encoding);
+        LocalDateTime start = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_012_345);
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = start.plusNanos(i * 21_092_333_777L);
+        }
+    }
+
+    @Benchmark
+    public char[] hashInto() {
+        TimeHashUtils.hashInto(values[index++ & (SIZE - 1)], handler, chars, 0, encoder);
+        return chars;
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generating a batch of hashes or IDs one call at a time against reserving them
+ * as a block, with many threads sharing the same generator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+
+    @Param({"1000"})
+    private int batch;
+
+    private final MonotonicTimeHashGenerator monotonic =
+            new MonotonicTimeHashGenerator(SubSecond.NANOGROUP);
+    private final TimeHashIdGenerator ids = new TimeHashIdGenerator(SubSecond.MILLIS, 0);
+
+    @Benchmark
+    public void monotonicNext(Blackhole blackhole) {
+        for (int i = 0; i < batch; i++) {
+            blackhole.consume(monotonic.next());
+        }
+    }
+
+    @Benchmark
+    public void monotonicReserve(Blackhole blackhole) {
+        consume(monotonic.reserve(batch), blackhole);
+    }
+
+    @Benchmark
+    public void idNext(Blackhole blackhole) {
+        for (int i = 0; i < batch; i++) {
+            blackhole.consume(ids.next());
+        }
+    }
+
+    @Benchmark
+    public void idReserve(Blackhole blackhole) {
+        consume(ids.reserve(batch), blackhole);
+    }
+
+    /**
+     * @param block     the block to consume
+     * @param blackhole the {@link Blackhole} to consume with
+     */
+    private static void consume(Iterator<String> block, Blackhole blackhole) {
+        while (block.hasNext()) {
+            blackhole.consume(block.next());
+        }
+    }
+
+}
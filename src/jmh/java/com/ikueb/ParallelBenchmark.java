@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how {@link TimeHashUtils#parallelHash(long[], TimeUnit, SubSecond, byte[], int,
+ * ForkJoinPool)} and {@link TimeHashUtils#parallelUnhash(byte[], int, int, SubSecond, long[],
+ * BitSet, ForkJoinPool)} scale with the parallelism of the pool. A parallelism of 0 runs the
+ * sequential methods instead, for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelBenchmark {
+
+    @Param({"4000000"})
+    private int size;
+
+    @Param({"0", "1", "2", "4", "8"})
+    private int parallelism;
+
+    private final SubSecond handler = SubSecond.MILLIS;
+    private ForkJoinPool pool;
+    private long[] epochMillis;
+    private byte[] bytes;
+    private long[] epochNanos;
+    private BitSet invalid;
+
+    @Setup
+    public void setUp() {
+        pool = parallelism == 0 ? null : new ForkJoinPool(parallelism);
+        Random random = new Random(0);
+        long start = LocalDateTime.of(2017, 1, 2, 3, 45).toInstant(ZoneOffset.UTC)
+                .toEpochMilli();
+        epochMillis = new long[size];
+        for (int i = 0; i < size; i++) {
+            epochMillis[i] = start += random.nextInt(5);
+        }
+        bytes = new byte[size * handler.length()];
+        TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, bytes, 0);
+        epochNanos = new long[size];
+        invalid = new BitSet(size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public byte[] hash() {
+        if (pool == null) {
+            TimeHashUtils.hash(epochMillis, TimeUnit.MILLISECONDS, handler, bytes, 0);
+        } else {
+            TimeHashUtils.parallelHash(epochMillis, TimeUnit.MILLISECONDS, handler, bytes, 0,
+                    pool);
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public long[] unhash() {
+        if (pool == null) {
+            TimeHashUtils.unhash(bytes, 0, handler.length(), handler, epochNanos, invalid);
+        } else {
+            TimeHashUtils.parallelUnhash(bytes, 0, handler.length(), handler, epochNanos,
+                    invalid, pool);
+        }
+        return epochNanos;
+    }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Run with {@code gradle jmh}; the {@code gc} profiler reports the allocation rate
+ * ({@code gc.alloc.rate.norm}) per operation, which should be 0 B/op for the
+ * {@code hashInto*} and {@code appendTo*} benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TimeHashUtilsBenchmark {
+
+    @Param({"TRIM", "MILLIS", "NANOS"})
+    private String precision;
+
+    private final LocalDateTime value = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_012_345);
+    private final long epochSecond = value.toEpochSecond(ZoneOffset.UTC);
+    private final char[] chars = new char[12];
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(12);
+    private final StringBuilder builder = new StringBuilder(12);
+    private SubSecond handler;
+    private String hash;
+    private String invalid;
+
+    @Setup
+    public void setUp() {
+        handler = SubSecond.valueOf(precision);
+        hash = TimeHashUtils.hash(value, handler);
+        invalid = hash.substring(0, hash.length() - 1) + "*";
+    }
+
+    @Benchmark
+    public String hash() {
+        return TimeHashUtils.hash(value, handler);
+    }
+
+    @Benchmark
+    public String hashEpochSecond() {
+        return TimeHashUtils.hashEpochSecond(epochSecond, value.getNano(), handler);
+    }
+
+    @Benchmark
+    public char[] hashIntoChars() {
+        TimeHashUtils.hashInto(value, handler, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public StringBuilder appendToBuilder() {
+        builder.setLength(0);
+        return TimeHashUtils.appendTo(builder, value, handler);
+    }
+
+    @Benchmark
+    public ByteBuffer hashIntoDirectBuffer() {
+        buffer.clear();
+        TimeHashUtils.hashInto(value, handler, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public LocalDateTime unhash() {
+        return TimeHashUtils.unhash(hash, handler);
+    }
+
+    @Benchmark
+    public long unhashToEpochNanos() {
+        return TimeHashUtils.unhashToEpochNanos(hash);
+    }
+
+    @Benchmark
+    public long tryUnhashToEpochNanos() {
+        return TimeHashUtils.tryUnhashToEpochNanos(hash);
+    }
+
+    @Benchmark
+    public long tryUnhashToEpochNanosInvalid() {
+        return TimeHashUtils.tryUnhashToEpochNanos(invalid);
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached {@link TimeHashUtils#utcNowMillis()} and the published
+ * {@link TimeHashClock#now()} against hashing the current time on every call, with many
+ * threads calling within the same millisecond.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class UtcNowBenchmark {
+
+    private final Clock clock = Clock.systemUTC();
+    private TimeHashClock timeHashClock;
+
+    @Setup
+    public void setUp() {
+        timeHashClock = new TimeHashClock(clock, SubSecond.MILLIS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        timeHashClock.close();
+    }
+
+    @Benchmark
+    public String utcNowMillis() {
+        return TimeHashUtils.utcNowMillis();
+    }
+
+    @Benchmark
+    public String timeHashClock() {
+        return timeHashClock.now();
+    }
+
+    @Benchmark
+    public String hashMillis() {
+        return TimeHashUtils.hashMillis(clock);
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates strictly increasing hashes of the current time with a fixed precision, across
+ * all threads using the same instance. When the clock stalls within a tick, or goes
+ * backwards, the next hash is one tick of the precision after the last one instead, so
+ * hashes run ahead of the clock until it catches up.
+ * <p>
+ * Hashes are of the clock's local date-time, as with
+ * {@link TimeHashUtils#hash(Clock, SubSecond)}, so a zone's offset moving backwards, e.g. at
+ * the end of daylight saving time, is handled like the clock going backwards.
+ * <p>
+ * The last value is kept as the epoch nanoseconds of the hash, as with
+ * {@link TimeHashUtils#unhashToEpochNanos(CharSequence)}, truncated to the precision, and
+ * advanced with a compare-and-set without any locking. Batch producers can
+ * {@link #reserve(int)} a block of consecutive hashes with a single compare-and-set instead.
+ */
+public final class MonotonicTimeHashGenerator {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final Clock clock;
+    private final SubSecond handler;
+    private final long unit;
+    private final AtomicLong last = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @see #MonotonicTimeHashGenerator(Clock, SubSecond)
+     */
+    public MonotonicTimeHashGenerator(SubSecond handler) {
+        this(Clock.systemUTC(), handler);
+    }
+
+    /**
+     * @param clock   the clock to get the current time from
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     */
+    public MonotonicTimeHashGenerator(Clock clock, SubSecond handler) {
+        this.clock = clock;
+        this.handler = handler;
+        this.unit = handler.unit();
+    }
+
+    /**
+     * @return the next hash, which is greater than any previous hash of this generator
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    public String next() {
+        return hash(nextEpochNanos(), handler);
+    }
+
+    /**
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z of the next
+     * hash's date-time, which is a multiple of the precision and greater than any previous
+     * value
+     */
+    public long nextEpochNanos() {
+        return reserveEpochNanos(1);
+    }
+
+    /**
+     * Reserves consecutive hashes, one tick of the precision apart, which are greater than
+     * any previous hash of this generator and less than any subsequent one.
+     *
+     * @param count the number of hashes to reserve
+     * @return the {@link Block} of the hashes
+     * @throws IllegalArgumentException if the count is not positive
+     */
+    public Block reserve(int count) {
+        TimeHashUtils.validate(count > 0, "Invalid count: " + count);
+        return new Block(reserveEpochNanos(count), unit, count, handler);
+    }
+
+    /**
+     * @param count the number of values to reserve
+     * @return the epoch nanoseconds of the first value
+     */
+    private long reserveEpochNanos(int count) {
+        long epochNanos = Math.floorDiv(epochNanos(), unit) * unit;
+        long previous;
+        long first;
+        do {
+            previous = last.get();
+            first = Math.max(epochNanos, previous + unit);
+        } while (!last.compareAndSet(previous, first + (count - 1) * unit));
+        return first;
+    }
+
+    /**
+     * @return the precision
+     */
+    public SubSecond precision() {
+        return handler;
+    }
+
+    /**
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z of the clock's
+     * local date-time, read without any {@link Instant} from a {@link NanoClock}
+     */
+    private long epochNanos() {
+        long result;
+        if (clock instanceof NanoClock) {
+            result = ((NanoClock) clock).epochNanos();
+        } else {
+            Instant now = clock.instant();
+            result = now.getEpochSecond() * NANOS_PER_SECOND + now.getNano();
+        }
+        return result + TimeHashUtils.offsetSeconds(clock.getZone(),
+                Math.floorDiv(result, NANOS_PER_SECOND)) * NANOS_PER_SECOND;
+    }
+
+    /**
+     * @param epochNanos the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     * @param handler    the {@link SubSecond} value to handle sub-seconds
+     * @return the hash of the epoch nanoseconds
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    private static String hash(long epochNanos, SubSecond handler) {
+        return TimeHashUtils.hashEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), handler);
+    }
+
+    /**
+     * A cursor over a reserved block of hashes, in increasing order. Not thread-safe.
+     */
+    public static final class Block implements Iterator<String> {
+
+        private final long first;
+        private final long unit;
+        private final int count;
+        private final SubSecond handler;
+        private int index;
+
+        /**
+         * @param first   the epoch nanoseconds of the first hash
+         * @param unit    the number of nanoseconds between consecutive hashes
+         * @param count   the number of hashes
+         * @param handler the {@link SubSecond} value to handle sub-seconds
+         */
+        private Block(long first, long unit, int count, SubSecond handler) {
+            this.first = first;
+            this.unit = unit;
+            this.count = count;
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        /**
+         * @return the next hash of the block
+         * @throws NoSuchElementException   if the block is exhausted
+         * @throws IllegalArgumentException if year is less than
+         *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or
+         *                                  larger than {@link TimeHashUtils#YEAR_MAX max year}
+         */
+        @Override
+        public String next() {
+            return hash(nextEpochNanos(), handler);
+        }
+
+        /**
+         * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z of the
+         * next hash of the block
+         * @throws NoSuchElementException if the block is exhausted
+         */
+        public long nextEpochNanos() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return first + index++ * unit;
+        }
+
+        /**
+         * @return the number of hashes left in the block
+         */
+        public int remaining() {
+            return count - index;
+        }
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * A clock with nanosecond resolution, which anchors on a wall clock and derives the current
+ * time from the elapsed {@link System#nanoTime()} since. Wall clocks typically only have
+ * millisecond or microsecond resolution, leaving the finer {@link SubSecond} digits mostly
+ * zeros, whereas the current time here costs a single {@code nanoTime()} call.
+ * <p>
+ * The anchor is re-synced with the wall clock after every period, to bound the drift
+ * between both. When the wall clock is ahead, the time moves forward to it. When it is
+ * behind by up to {@link #TOLERANCE}, e.g. from its coarser resolution or from drift, the
+ * time instead slows down over the next period so that it converges to the wall clock
+ * without going backwards. The time is only re-synced backwards when the wall clock is
+ * behind by more, e.g. when it steps back. Only one thread's re-synced anchor is kept, and
+ * every other thread reads the time from it.
+ */
+public final class NanoClock extends Clock {
+
+    /**
+     * How far behind the current time the wall clock can be when re-syncing, before the
+     * current time is re-synced backwards.
+     */
+    public static final Duration TOLERANCE = Duration.ofMillis(1);
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final Duration DEFAULT_PERIOD = Duration.ofSeconds(1);
+
+    private final Clock wall;
+    private final Duration period;
+    private final long periodNanos;
+    private final LongSupplier nanoTime;
+    private final AtomicReference<Anchor> anchor;
+
+    /**
+     * Anchors on the system UTC clock, re-syncing every second.
+     *
+     * @see #NanoClock(Clock, Duration)
+     */
+    public NanoClock() {
+        this(Clock.systemUTC(), DEFAULT_PERIOD);
+    }
+
+    /**
+     * @param wall   the wall clock to anchor on
+     * @param period the period to re-sync with the wall clock after
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    public NanoClock(Clock wall, Duration period) {
+        this(wall, period, System::nanoTime);
+    }
+
+    /**
+     * @param wall     the wall clock to anchor on
+     * @param period   the period to re-sync with the wall clock after
+     * @param nanoTime the source of {@link System#nanoTime()} values
+     * @throws IllegalArgumentException if the period is not positive
+     */
+    NanoClock(Clock wall, Duration period, LongSupplier nanoTime) {
+        TimeHashUtils.validate(!period.isNegative() && !period.isZero(),
+                "Invalid period: " + period);
+        this.wall = wall;
+        this.period = period;
+        this.periodNanos = period.toNanos();
+        this.nanoTime = nanoTime;
+        this.anchor = new AtomicReference<>(new Anchor(epochNanos(wall.instant()),
+                nanoTime.getAsLong(), 0));
+    }
+
+    /**
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     */
+    public long epochNanos() {
+        while (true) {
+            // reading the anchor first keeps its nanoTime from being after now
+            Anchor current = anchor.get();
+            long now = nanoTime.getAsLong();
+            long elapsed = now - current.nanoTime;
+            long extrapolated = current.epochNanos(elapsed, periodNanos);
+            if (elapsed < periodNanos) {
+                return extrapolated;
+            }
+            long synced = epochNanos(wall.instant());
+            long behind = extrapolated - synced;
+            Anchor next = behind > 0 && behind <= TOLERANCE.toNanos()
+                    ? new Anchor(extrapolated, now, Math.min(behind, periodNanos / 2))
+                    : new Anchor(synced, now, 0);
+            if (anchor.compareAndSet(current, next)) {
+                return next.epochNanos;
+            }
+        }
+    }
+
+    /**
+     * Hashes the current local date-time with only primitive arithmetic, as with
+     * {@link TimeHashUtils#hash(Clock, SubSecond)}.
+     *
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return hashed value of the current time with the desired precision
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    public String hash(SubSecond handler) {
+        long epochNanos = epochNanos();
+        long epochSecond = Math.floorDiv(epochNanos, NANOS_PER_SECOND);
+        return TimeHashUtils.hashEpochSecond(
+                epochSecond + TimeHashUtils.offsetSeconds(getZone(), epochSecond),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), handler);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return wall.getZone();
+    }
+
+    /**
+     * @param zone the time-zone to use
+     * @return a clock with the wall clock in the time-zone, anchored anew
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return zone.equals(getZone()) ? this
+                : new NanoClock(wall.withZone(zone), period, nanoTime);
+    }
+
+    @Override
+    public long millis() {
+        return Math.floorDiv(epochNanos(), NANOS_PER_MILLI);
+    }
+
+    @Override
+    public Instant instant() {
+        long epochNanos = epochNanos();
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+    /**
+     * @param o the object to compare to
+     * @return {@code true} if the object is a {@code NanoClock} with an equal wall clock and
+     * period, regardless of their anchors
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o == this || (o instanceof NanoClock && wall.equals(((NanoClock) o).wall)
+                && period.equals(((NanoClock) o).period));
+    }
+
+    @Override
+    public int hashCode() {
+        return wall.hashCode() ^ period.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "NanoClock[" + wall + "," + period + "]";
+    }
+
+    /**
+     * @param instant the instant
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     */
+    private static long epochNanos(Instant instant) {
+        return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+    }
+
+    /**
+     * The epoch nanoseconds at a {@link System#nanoTime()} value, and how far ahead of the
+     * wall clock they are.
+     */
+    private static final class Anchor {
+
+        private final long epochNanos;
+        private final long nanoTime;
+        private final long slew;
+
+        /**
+         * @param epochNanos the number of nanoseconds from the epoch
+         * @param nanoTime   the {@link System#nanoTime()} value at the same time
+         * @param slew       the number of nanoseconds to fall back by over the period, less
+         *                   than the period
+         */
+        private Anchor(long epochNanos, long nanoTime, long slew) {
+            this.epochNanos = epochNanos;
+            this.nanoTime = nanoTime;
+            this.slew = slew;
+        }
+
+        /**
+         * @param elapsed     the elapsed {@link System#nanoTime()} since the anchor
+         * @param periodNanos the period to fall back by the slew over
+         * @return the number of nanoseconds from the epoch, which never decreases as the
+         * elapsed time increases
+         */
+        private long epochNanos(long elapsed, long periodNanos) {
+            long correction = elapsed >= periodNanos ? slew
+                    : (long) (slew * (double) elapsed / periodNanos);
+            return epochNanos + elapsed - correction;
+        }
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * An immutable hash backed by its packed {@code long} representation, which is used for
+ * comparisons, equality and hash codes. The string representation is only created when
+ * it is first required.
+ *
+ * @see TimeHashUtils#toLong(CharSequence)
+ */
+public final class TimeHash implements Comparable<TimeHash>, CharSequence {
+
+    private final long packed;
+    private final SubSecond precision;
+    /**
+     * Lazily created, racy but safe as {@link String} is immutable.
+     */
+    private String hash;
+
+    /**
+     * @param packed    the packed representation
+     * @param precision the precision of the packed representation
+     */
+    private TimeHash(long packed, SubSecond precision) {
+        this.packed = packed;
+        this.precision = precision;
+    }
+
+    /**
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the hash of the date-time with the desired precision
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    public static TimeHash of(LocalDateTime value, SubSecond handler) {
+        return new TimeHash(TimeHashUtils.toLong(value, handler), handler);
+    }
+
+    /**
+     * @param hash the value to parse
+     * @return the hash
+     * @throws IllegalArgumentException if the value does not pass validation
+     * @throws DateTimeException        if the hashed date-time is invalid
+     */
+    public static TimeHash parse(CharSequence hash) {
+        long packed = TimeHashUtils.toLong(hash);
+        return new TimeHash(packed, TimeHashUtils.precisionOf(packed));
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the hash
+     * @throws IllegalArgumentException if the packed representation is invalid
+     */
+    public static TimeHash fromLong(long packed) {
+        return new TimeHash(packed, TimeHashUtils.precisionOf(packed));
+    }
+
+    /**
+     * @return the packed representation
+     */
+    public long toLong() {
+        return packed;
+    }
+
+    /**
+     * @return the resulting {@link LocalDateTime} representation
+     */
+    public LocalDateTime toLocalDateTime() {
+        return TimeHashUtils.toLocalDateTime(packed);
+    }
+
+    /**
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     */
+    public long toEpochNanos() {
+        return TimeHashUtils.toEpochNanos(packed);
+    }
+
+    /**
+     * @return the precision
+     */
+    public SubSecond precision() {
+        return precision;
+    }
+
+    @Override
+    public int length() {
+        return precision.length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    @Override
+    public int compareTo(TimeHash o) {
+        return Long.compare(packed, o.packed);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o == this || (o instanceof TimeHash && ((TimeHash) o).packed == packed);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(packed);
+    }
+
+    @Override
+    public String toString() {
+        String result = hash;
+        if (result == null) {
+            hash = result = TimeHashUtils.fromLong(packed);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+
+import java.time.Clock;
+
+/**
+ * A coarse clock that publishes the hash of the current time from a single daemon thread,
+ * which wakes at every tick of its precision. Reading the current hash is then a single
+ * volatile read, without any work on the caller's thread.
+ * <p>
+ * Only {@link SubSecond#TRIM TRIM}, {@link SubSecond#MILLIGROUP MILLIGROUP} and
+ * {@link SubSecond#MILLIS MILLIS} precisions are supported, as finer ticks are shorter than
+ * what a thread can reliably sleep for. Hashes are of the clock's local date-time, as with
+ * {@link TimeHashUtils#hash(Clock, SubSecond)}. If the clock goes out of the supported range
+ * of years, the last hash remains published.
+ */
+public final class TimeHashClock implements AutoCloseable {
+
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final long MILLIS_PER_SECOND = 1_000L;
+
+    private final Clock clock;
+    private final SubSecond handler;
+    private final long tickMillis;
+    private final Thread thread;
+    private volatile String hash;
+
+    /**
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @throws IllegalArgumentException if the precision is finer than milliseconds, or if
+     *                                  year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     * @see #TimeHashClock(Clock, SubSecond)
+     */
+    public TimeHashClock(SubSecond handler) {
+        this(Clock.systemUTC(), handler);
+    }
+
+    /**
+     * Publishes the hash of the clock's current time, and starts the thread to update it.
+     *
+     * @param clock   the clock to get the current time from
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @throws IllegalArgumentException if the precision is finer than milliseconds, or if
+     *                                  year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    public TimeHashClock(Clock clock, SubSecond handler) {
+        if (handler.compareTo(SubSecond.MILLIS) > 0) {
+            throw new IllegalArgumentException("Precision is finer than milliseconds: "
+                    + handler);
+        }
+        this.clock = clock;
+        this.handler = handler;
+        this.tickMillis = handler.unit() / NANOS_PER_MILLI;
+        this.hash = hash(clock.millis());
+        this.thread = new Thread(this::run, "TimeHashClock-" + handler);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the hash of the current time as of the last tick
+     */
+    public String now() {
+        return hash;
+    }
+
+    /**
+     * @return the precision
+     */
+    public SubSecond precision() {
+        return handler;
+    }
+
+    /**
+     * Stops the thread, after which the hash is no longer updated. When called from the
+     * thread itself, e.g. by the clock, it stops after returning instead of being waited on.
+     */
+    @Override
+    public void close() {
+        thread.interrupt();
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        boolean isInterrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sleeps until the start of the next tick, then publishes its hash.
+     */
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(tickMillis - Math.floorMod(clock.millis(), tickMillis));
+                hash = hash(clock.millis());
+            }
+        } catch (InterruptedException | IllegalArgumentException e) {
+            // closed, or out of the range of years
+        }
+    }
+
+    /**
+     * Zone offsets are whole seconds, so the ticks of the local date-time start at the same
+     * instants as those of UTC.
+     *
+     * @param epochMilli the number of milliseconds from the epoch of 1970-01-01T00:00:00Z
+     * @return the hash of the clock's local date-time at the epoch milliseconds
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    private String hash(long epochMilli) {
+        int offset = TimeHashUtils.offsetSeconds(clock.getZone(),
+                Math.floorDiv(epochMilli, MILLIS_PER_SECOND));
+        return TimeHashUtils.hashEpochMilli(epochMilli + offset * MILLIS_PER_SECOND, handler);
+    }
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Generates unique, fixed-width and lexicographically sortable IDs in the same alphabet as
+ * the hashes, laid out as:
+ * <pre>
+ * hash | node | stripe | sequence
+ * </pre>
+ * The hash is of the clock's local date-time with a fixed precision, as with
+ * {@link TimeHashUtils#hash(Clock, SubSecond)}, the node is configured per instance, e.g.
+ * per host or worker, and the sequence counts the IDs within a tick.
+ * <p>
+ * Each thread always uses the same stripe, with its own counter, so contention does not
+ * grow with the number of threads beyond the number of stripes. Each counter holds the
+ * tick and sequence of its last ID, and is replaced with a compare-and-set by the larger of
+ * the current tick's first sequence and the next sequence. A sequence overflowing its tick
+ * therefore borrows the next tick, so the IDs of a thread are strictly increasing even if
+ * the clock stalls or goes backwards, and are unique across threads as the stripes differ.
+ * Batch producers can {@link #reserve(int)} a block of consecutive IDs with a single
+ * compare-and-set instead.
+ */
+public final class TimeHashIdGenerator {
+
+    private static final int RADIX = 48;
+    private static final int MAX_FIELD_LENGTH = 5;
+    // one stripe per 64-byte cache line
+    private static final int PADDING = 8;
+
+    private final Clock clock;
+    private final SubSecond handler;
+    private final int node;
+    private final int nodeLength;
+    private final int stripes;
+    private final int sequenceLength;
+    private final int capacity;
+    private final AtomicReferenceArray<Counter> counters;
+
+    /**
+     * Uses the system UTC clock, a 2-character node, as many stripes as processors up to
+     * 48, and a 3-character sequence, for 110,592 IDs per tick per stripe.
+     *
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @param node    the node, from 0 to 2,303
+     * @throws IllegalArgumentException if the node is out of range
+     * @see #TimeHashIdGenerator(Clock, SubSecond, int, int, int, int)
+     */
+    public TimeHashIdGenerator(SubSecond handler, int node) {
+        this(Clock.systemUTC(), handler, node, 2,
+                Math.min(RADIX, Runtime.getRuntime().availableProcessors()), 3);
+    }
+
+    /**
+     * @param clock          the clock to get the current time from
+     * @param handler        the {@link SubSecond} value to handle sub-seconds
+     * @param node           the node, from 0 to {@code 48^nodeLength - 1}
+     * @param nodeLength     the number of characters for the node, from 1 to 5
+     * @param stripes        the number of stripes, from 1 to 48
+     * @param sequenceLength the number of characters for the sequence, from 1 to 5
+     * @throws IllegalArgumentException if any argument is out of range
+     */
+    public TimeHashIdGenerator(Clock clock, SubSecond handler, int node, int nodeLength,
+                               int stripes, int sequenceLength) {
+        TimeHashUtils.validate(nodeLength >= 1 && nodeLength <= MAX_FIELD_LENGTH,
+                "Invalid node length: " + nodeLength);
+        TimeHashUtils.validate(node >= 0 && node < power(nodeLength),
+                "Invalid node: " + node);
+        TimeHashUtils.validate(stripes >= 1 && stripes <= RADIX,
+                "Invalid stripes: " + stripes);
+        TimeHashUtils.validate(sequenceLength >= 1 && sequenceLength <= MAX_FIELD_LENGTH,
+                "Invalid sequence length: " + sequenceLength);
+        this.capacity = power(sequenceLength);
+        this.clock = clock;
+        this.handler = handler;
+        this.node = node;
+        this.nodeLength = nodeLength;
+        this.stripes = stripes;
+        this.sequenceLength = sequenceLength;
+        this.counters = new AtomicReferenceArray<>(stripes * PADDING);
+        Counter initial = new Counter(-1, capacity - 1);
+        for (int i = 0; i < stripes; i++) {
+            counters.set(i * PADDING, initial);
+        }
+    }
+
+    /**
+     * @return the next ID, which is greater than any previous ID of the calling thread
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    public String next() {
+        return reserve(1).next();
+    }
+
+    /**
+     * Reserves consecutive IDs from the calling thread's stripe, which are greater than any
+     * previous ID of the calling thread and less than any subsequent one.
+     *
+     * @param count the number of IDs to reserve
+     * @return the {@link Block} of the IDs
+     * @throws IllegalArgumentException if the count is not positive, or if year is less
+     *                                  than {@link TimeHashUtils#YEAR_EPOCH epoch year} or
+     *                                  larger than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    public Block reserve(int count) {
+        TimeHashUtils.validate(count > 0, "Invalid count: " + count);
+        int stripe = (int) (Thread.currentThread().getId() % stripes);
+        long tick = tick();
+        int index = stripe * PADDING;
+        Counter previous;
+        Counter first;
+        do {
+            previous = counters.get(index);
+            first = previous.plus(1, capacity);
+            if (tick > first.tick) {
+                first = new Counter(tick, 0);
+            }
+        } while (!counters.compareAndSet(index, previous, first.plus(count - 1, capacity)));
+        return new Block(this, stripe, first, count);
+    }
+
+    /**
+     * @return the number of characters of every ID
+     */
+    public int length() {
+        return handler.length() + nodeLength + 1 + sequenceLength;
+    }
+
+    /**
+     * @return the precision of the hash
+     */
+    public SubSecond precision() {
+        return handler;
+    }
+
+    /**
+     * @return the number of sub-seconds steps of the clock's local date-time from
+     * {@link TimeHashUtils#YEAR_EPOCH}
+     * @throws IllegalArgumentException if year is less than
+     *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or larger
+     *                                  than {@link TimeHashUtils#YEAR_MAX max year}
+     */
+    private long tick() {
+        Instant now = clock.instant();
+        long epochSecond = now.getEpochSecond();
+        return TimeHashUtils.tickOf(
+                epochSecond + TimeHashUtils.offsetSeconds(clock.getZone(), epochSecond),
+                now.getNano(), handler);
+    }
+
+    /**
+     * The tick and sequence of an ID.
+     */
+    private static final class Counter {
+
+        private final long tick;
+        private final int sequence;
+
+        /**
+         * @param tick     the number of sub-seconds steps from
+         *                 {@link TimeHashUtils#YEAR_EPOCH}
+         * @param sequence the sequence within the tick
+         */
+        private Counter(long tick, int sequence) {
+            this.tick = tick;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @param count    the number of IDs to advance by, which is not negative
+         * @param capacity the number of sequences per tick
+         * @return the tick and sequence of the ID after this one by the count, borrowing
+         * subsequent ticks when the sequences of a tick overflow
+         */
+        private Counter plus(int count, int capacity) {
+            long sequences = (long) sequence + count;
+            return count == 0 ? this
+                    : new Counter(tick + sequences / capacity, (int) (sequences % capacity));
+        }
+    }
+
+    /**
+     * A cursor over a reserved block of IDs, in increasing order. The hash and node are only
+     * written again when the tick changes. Not thread-safe.
+     */
+    public static final class Block implements Iterator<String> {
+
+        private final TimeHashIdGenerator generator;
+        private final char[] id;
+        private final int sequenceOffset;
+        private long tick;
+        private int sequence;
+        private int remaining;
+        private long hashedTick = -1;
+
+        /**
+         * @param generator the generator of the block
+         * @param stripe    the stripe of the block
+         * @param first     the tick and sequence of the first ID
+         * @param count     the number of IDs
+         */
+        private Block(TimeHashIdGenerator generator, int stripe, Counter first, int count) {
+            this.generator = generator;
+            this.id = new char[generator.length()];
+            this.sequenceOffset = id.length - generator.sequenceLength;
+            this.tick = first.tick;
+            this.sequence = first.sequence;
+            this.remaining = count;
+            TimeHashUtils.toHash(stripe, 1, id, sequenceOffset - 1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * @return the next ID of the block
+         * @throws NoSuchElementException   if the block is exhausted
+         * @throws IllegalArgumentException if year is less than
+         *                                  {@link TimeHashUtils#YEAR_EPOCH epoch year} or
+         *                                  larger than {@link TimeHashUtils#YEAR_MAX max year}
+         */
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (tick != hashedTick) {
+                int offset = TimeHashUtils.hashTickInto(tick, generator.handler, id, 0);
+                TimeHashUtils.toHash(generator.node, generator.nodeLength, id, offset);
+                hashedTick = tick;
+            }
+            TimeHashUtils.toHash(sequence, generator.sequenceLength, id, sequenceOffset);
+            remaining--;
+            if (++sequence == generator.capacity) {
+                sequence = 0;
+                tick++;
+            }
+            return new String(id);
+        }
+
+        /**
+         * @return the number of IDs left in the block
+         */
+        public int remaining() {
+            return remaining;
+        }
+    }
+
+    /**
+     * @param length the number of characters
+     * @return the number of values the characters can represent
+     */
+    private static int power(int length) {
+        int result = 1;
+        for (int i = 0; i < length; i++) {
+            result *= RADIX;
+        }
+        return result;
+    }
+
+}
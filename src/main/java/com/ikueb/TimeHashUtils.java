@@ -15,18 +15,30 @@
  */
 package com.ikueb;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoField;
-import java.time.temporal.Temporal;
-import java.time.temporal.TemporalField;
 import java.util.Arrays;
-import java.util.function.BiFunction;
-import java.util.function.IntFunction;
-import java.util.function.Predicate;
-import java.util.function.ToIntFunction;
-import java.util.regex.Pattern;
-import java.util.stream.IntStream;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
 
 /**
  * A utilities class for hashing to and unhashing from a short date-time representation,
@@ -38,13 +50,44 @@ public final class TimeHashUtils {
 
     private static final char[] CHARS =
             "456789BCDFGHJKLMNPQRSTVWXYZbcdfghjklmnpqrstvwxyz".toCharArray();
+    private static final byte[] BYTES = new String(CHARS).getBytes(StandardCharsets.US_ASCII);
     private static final int RADIX = CHARS.length;
+    private static final byte[] DIGITS = digits();
     private static final int MIN_CHARS = 6;
-    private static final Pattern PATTERN = asPattern(MIN_CHARS);
+    private static final long HIGH_BITS = 0x8080_8080_8080_8080L;
+    private static final int[] POWERS = {1, RADIX, RADIX * RADIX, RADIX * RADIX * RADIX,
+            RADIX * RADIX * RADIX * RADIX, RADIX * RADIX * RADIX * RADIX * RADIX};
+    private static final String MESSAGE = "Does not match pattern: " + asPattern(MIN_CHARS);
+    private static final long INVALID_HASH = -1L;
+    private static final long INVALID_SUB_SECOND = -2L;
+    private static final long INVALID_DATE_TIME = -3L;
     private static final Clock UTC = Clock.systemUTC();
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int SECONDS_PER_HOUR = 3_600;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int MILLIS_PER_SECOND = 1_000;
+    private static final int NANOS_PER_MILLI = 1_000_000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int DAYS_PER_CYCLE = 146_097;
+    private static final long DAYS_0000_TO_1970 = 719_468L;
 
     public static final int YEAR_EPOCH = 2014;
     public static final int YEAR_MAX = YEAR_EPOCH + RADIX - 1;
+    /**
+     * The sentinel value returned by the {@code tryUnhash*} methods for invalid values.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long EPOCH_SECOND_MIN =
+            toEpochDay(YEAR_EPOCH, 1, 1) * SECONDS_PER_DAY;
+    private static final long EPOCH_SECOND_MAX =
+            toEpochDay(YEAR_MAX + 1, 1, 1) * SECONDS_PER_DAY;
+    static final ColumnDecoder SCALAR_DECODER = TimeHashUtils::unhashColumn;
+    private static final String VECTOR_DECODER = "com.ikueb.VectorColumnDecoder";
+    static final ColumnDecoder COLUMN_DECODER = columnDecoder();
+    // 8,192 values and their hashes fit in a 256 KB L2 cache
+    private static final int CHUNK_ROWS = 1 << 13;
 
 
     private TimeHashUtils() {
@@ -53,7 +96,8 @@ public final class TimeHashUtils {
 
     /**
      * Handles sub-seconds hashing and unhashing.
-     * <table summary="Value description">
+     * <table>
+     * <caption>Value description</caption>
      * <thead>
      * <tr>
      * <td>Value</td>
@@ -120,127 +164,321 @@ public final class TimeHashUtils {
         /**
          * Trims sub-seconds, for a 6-character string.
          */
-        TRIM(v -> 0, v -> "", asPattern(0), (v, t) -> t),
+        TRIM(0, 1_000_000_000, ChronoField.NANO_OF_SECOND),
         /**
          * Provides precision up to every 25 milliseconds, for a 7-character string.<br>
          * Effectively 40 Hz, or 40x more precise than {@link #TRIM}.
          */
-        MILLIGROUP(1, ChronoField.MILLI_OF_SECOND, 25),
+        MILLIGROUP(1, 25_000_000, ChronoField.MILLI_OF_SECOND),
         /**
          * Provides milliseconds precision, for an 8-character string.<br>
          * 25x more precise than {@link #MILLIGROUP}.
          */
-        MILLIS(2, ChronoField.MILLI_OF_SECOND),
+        MILLIS(2, 1_000_000, ChronoField.MILLI_OF_SECOND),
         /**
          * Provides precision up to every 10 microseconds, for a 9-character string.<br>
          * Effectively 100 KHz, or 100x more precise than {@link #MILLIS}.
          */
-        MICROGROUP(3, ChronoField.MICRO_OF_SECOND, 10),
+        MICROGROUP(3, 10_000, ChronoField.MICRO_OF_SECOND),
         /**
          * Provides precision up to every 200 nanoseconds, for a 10-character string.<br>
          * 50x more precise than {@link #MICROGROUP}.
          */
-        NANOGROUP(4, ChronoField.NANO_OF_SECOND, 200),
+        NANOGROUP(4, 200, ChronoField.NANO_OF_SECOND),
         /**
          * Provides precision up to every 4 nanoseconds, for an 11-character string.<br>
          * 50x more precise than {@link #NANOGROUP}.
          */
-        QUADNANO(5, ChronoField.NANO_OF_SECOND, 4),
+        QUADNANO(5, 4, ChronoField.NANO_OF_SECOND),
         /**
          * Provides nanoseconds precision, for a 12-character string.<br>
          * 4x more precise than {@link #QUADNANO}.
          */
-        NANOS(6, ChronoField.NANO_OF_SECOND);
+        NANOS(6, 1, ChronoField.NANO_OF_SECOND);
 
         private static final SubSecond[] VALUES = SubSecond.values();
 
-        private final Pattern pattern;
-        private final ToIntFunction<LocalDateTime> extractor;
-        private final IntFunction<String> hasher;
-        private final BiFunction<String, Temporal, Temporal> unhasher;
+        private final int length;
+        private final int unit;
+        private final ChronoField field;
+        private final String message;
+        private final long binaryLimit;
+        private final int binaryLength;
 
         /**
          * @param length the desired length for representing sub-seconds
-         * @param field  the field to extract from
+         * @param unit   the number of nanoseconds represented by one sub-seconds step
+         * @param field  the field holding the sub-seconds value in a date-time
          */
-        SubSecond(int length, TemporalField field) {
-            this(length, field, 1);
+        SubSecond(int length, int unit, ChronoField field) {
+            this.length = length;
+            this.unit = unit;
+            this.field = field;
+            this.message = "Subsecond does not match pattern: " + asPattern(length);
+            this.binaryLimit = (EPOCH_SECOND_MAX - EPOCH_SECOND_MIN) * steps();
+            this.binaryLength = (Long.SIZE - Long.numberOfLeadingZeros(binaryLimit - 1)
+                    + Byte.SIZE - 1) / Byte.SIZE;
         }
 
         /**
-         * @param length     the desired length for representing sub-seconds
-         * @param field      the field to extract from
-         * @param multiplier the multiplier to use
+         * @return the number of characters for a hash with this precision, including
+         * {@code YMdHms}
          */
-        SubSecond(int length, TemporalField field, int multiplier) {
-            this(v -> v.get(field), v -> toHash(v / multiplier, length), asPattern(length),
-                    (v, t) -> t.with(field, (long) multiplier * parse(v)));
+        public int length() {
+            return MIN_CHARS + length;
         }
 
         /**
-         * @param extractor for retrieving the sub-seconds value
-         * @param hasher    converts the sub-seconds value to resulting hashed string
-         * @param pattern   the pattern to validate a hashed sub-seconds string
-         * @param unhasher  converts the hashed sub-seconds string to adjust the temporal
+         * @return the number of bytes for a binary key with this precision
+         * @see #encodeBinary(LocalDateTime, SubSecond, byte[], int)
          */
-        SubSecond(ToIntFunction<LocalDateTime> extractor,
-                  IntFunction<String> hasher,
-                  Pattern pattern,
-                  BiFunction<String, Temporal, Temporal> unhasher) {
-            this.extractor = extractor;
-            this.hasher = hasher;
-            this.pattern = pattern;
-            this.unhasher = unhasher;
+        public int binaryLength() {
+            return binaryLength;
+        }
+
+        /**
+         * @return the number of nanoseconds represented by one sub-seconds step
+         */
+        int unit() {
+            return unit;
+        }
+
+        /**
+         * @return the number of sub-seconds steps from {@link #YEAR_EPOCH} to the end of
+         * {@link #YEAR_MAX}
+         * @see #tickOf(long, int, SubSecond)
+         */
+        long ticks() {
+            return binaryLimit;
+        }
+
+        /**
+         * @return the number of sub-seconds steps in a second
+         */
+        private long steps() {
+            return NANOS_PER_SECOND / unit;
         }
 
         /**
-         * @param value the value to extract sub-seconds value from
-         * @return the sub-seconds value
+         * @param subSecond the sub-seconds value
+         * @throws DateTimeException if the sub-seconds value is invalid for this precision's
+         *                           field
          */
-        private int extract(LocalDateTime value) {
-            return extractor.applyAsInt(value);
+        private void check(long subSecond) {
+            field.checkValidValue(unit * subSecond / field.getBaseUnit().getDuration().toNanos());
         }
 
         /**
-         * @param value the value to hash
-         * @return the hashed value
+         * @param nanoOfSecond the nano-of-second value
+         * @return the sub-seconds value to hash
          */
-        private String hash(int value) {
-            return hasher.apply(value);
+        private int value(int nanoOfSecond) {
+            return nanoOfSecond / unit;
         }
 
         /**
-         * @return the {@link Pattern} for unhashing validation
+         * @param nanoOfSecond the nano-of-second value
+         * @return the nano-of-second value truncated to this precision
+         */
+        private int truncate(int nanoOfSecond) {
+            return nanoOfSecond / unit * unit;
+        }
+    }
+
+    /**
+     * Encodes the fixed-width second-of-day and sub-seconds fields of a hash.
+     */
+    enum Encoder {
+        /**
+         * Divides by the radix for every character.
+         */
+        ARITHMETIC {
+            @Override
+            void secondOfDay(int value, char[] dest, int offset) {
+                toHash(value, 3, dest, offset);
+            }
+
+            @Override
+            void subSecond(int value, SubSecond handler, char[] dest, int offset) {
+                toHash(value, handler.length, dest, offset);
+            }
+        },
+        /**
+         * Copies from the precomputed {@link Tables} where available, falling back to
+         * {@link #ARITHMETIC} otherwise.
+         */
+        TABLE {
+            @Override
+            void secondOfDay(int value, char[] dest, int offset) {
+                int index = value * 3;
+                dest[offset] = Tables.SECOND_OF_DAY[index];
+                dest[offset + 1] = Tables.SECOND_OF_DAY[index + 1];
+                dest[offset + 2] = Tables.SECOND_OF_DAY[index + 2];
+            }
+
+            @Override
+            void subSecond(int value, SubSecond handler, char[] dest, int offset) {
+                if (handler == SubSecond.MILLIS) {
+                    int index = value * 2;
+                    dest[offset] = Tables.MILLIS[index];
+                    dest[offset + 1] = Tables.MILLIS[index + 1];
+                } else {
+                    ARITHMETIC.subSecond(value, handler, dest, offset);
+                }
+            }
+        };
+
+        /**
+         * @param value  the second of day, from 0 to 86,399
+         * @param dest   the array to write 3 characters to
+         * @param offset the offset to start writing from
+         */
+        abstract void secondOfDay(int value, char[] dest, int offset);
+
+        /**
+         * @param value   the sub-seconds value of the handler
+         * @param handler the handler for the sub-seconds value
+         * @param dest    the array to write to
+         * @param offset  the offset to start writing from
          */
-        private Pattern pattern() {
-            return pattern;
+        abstract void subSecond(int value, SubSecond handler, char[] dest, int offset);
+    }
+
+    /**
+     * Precomputed encodings of the fixed-width fields, initialized on first use. The
+     * second-of-day table holds 86,400 x 3 {@code char}s (about 506 KiB), and the
+     * milliseconds table holds 1,000 x 2 {@code char}s (about 4 KiB).
+     */
+    private static final class Tables {
+
+        private static final char[] SECOND_OF_DAY = create(SECONDS_PER_DAY, 3);
+        private static final char[] MILLIS = create(MILLIS_PER_SECOND, 2);
+
+        private Tables() {
+            // empty
         }
 
         /**
-         * @param value the value to check for validity
-         * @return {@code true} if the value is valid for unhashing
+         * @param size      the number of values to encode
+         * @param padLength the fixed length of each encoding
+         * @return the packed encodings of {@code [0, size)}, {@code padLength} apart
          */
-        private boolean matches(String value) {
-            return pattern.matcher(value).matches();
+        private static char[] create(int size, int padLength) {
+            char[] result = new char[size * padLength];
+            for (int i = 0; i < size; i++) {
+                toHash(i, padLength, result, i * padLength);
+            }
+            return result;
         }
+    }
+
+    /**
+     * Unhashes a column of fixed-length ASCII values, with arguments already validated.
+     */
+    interface ColumnDecoder {
 
         /**
-         * @param value  the value to unhash
-         * @param output the current {@link Temporal} value
-         * @return the resulting {@link Temporal} instance
+         * @param src     the ASCII bytes containing the values to unhash
+         * @param offset  the offset of the first value
+         * @param stride  the distance between the start of consecutive values
+         * @param handler the {@link SubSecond} value the values were hashed with
+         * @param dest    the array to write the epoch nanoseconds of each value, or
+         *                {@link #INVALID}, to
+         * @param from    the index in the destination to write the first value to
+         * @param count   the number of values
+         * @param invalid the bitmap to set the indices of invalid values in, relative to the
+         *                first value
+         * @return the number of invalid values
          */
-        private Temporal unhash(String value, Temporal output) {
-            return unhasher.apply(value, output);
+        int unhash(byte[] src, int offset, int stride, SubSecond handler, long[] dest,
+                   int from, int count, BitSet invalid);
+    }
+
+    /**
+     * @return the {@code jdk.incubator.vector} implementation from the Java 17 classes of the
+     * multi-release JAR when it can be loaded, else {@link #SCALAR_DECODER}
+     */
+    private static ColumnDecoder columnDecoder() {
+        try {
+            return (ColumnDecoder) Class.forName(VECTOR_DECODER).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR_DECODER;
         }
     }
 
     /**
+     * Calls within the same millisecond return the same instance.
+     *
      * @return hashed value of current system clock's UTC time with millisecond precision
      * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
      *                                  or larger than {@link #YEAR_MAX max year}
      */
     public static String utcNowMillis() {
-        return hashMillis(UTC);
+        return MillisCache.UTC_NOW.hash(UTC.millis());
+    }
+
+    /**
+     * Caches the hash of the last millisecond seen, so that concurrent callers within the
+     * same millisecond share one instance. The immutable entry is replaced with a single
+     * compare-and-set without any locking: a caller losing the race returns the winner's
+     * hash instead when it is for the same millisecond, and its own equal hash otherwise.
+     */
+    static final class MillisCache {
+
+        private static final MillisCache UTC_NOW = new MillisCache();
+
+        private final AtomicReference<Entry> last =
+                new AtomicReference<>(new Entry(Long.MIN_VALUE, null));
+        private final LongFunction<String> hasher;
+
+        MillisCache() {
+            this(epochMilli -> hashEpochMilli(epochMilli, SubSecond.MILLIS));
+        }
+
+        /**
+         * @param hasher the function hashing epoch milliseconds on a cache miss
+         */
+        MillisCache(LongFunction<String> hasher) {
+            this.hasher = hasher;
+        }
+
+        /**
+         * @param epochMilli the number of milliseconds from the epoch of 1970-01-01T00:00:00Z
+         * @return the hash of the epoch milliseconds with {@link SubSecond#MILLIS} precision
+         * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch
+         *                                  year} or larger than {@link #YEAR_MAX max year}
+         */
+        String hash(long epochMilli) {
+            Entry current = last.get();
+            if (current.epochMilli == epochMilli) {
+                return current.hash;
+            }
+            Entry next = new Entry(epochMilli, hasher.apply(epochMilli));
+            if (last.compareAndSet(current, next)) {
+                return next.hash;
+            }
+            Entry winner = last.get();
+            return winner.epochMilli == epochMilli ? winner.hash : next.hash;
+        }
+
+        /**
+         * A millisecond and its hash.
+         */
+        private static final class Entry {
+
+            private final long epochMilli;
+            private final String hash;
+
+            /**
+             * @param epochMilli the number of milliseconds from the epoch
+             * @param hash       the hash of the epoch milliseconds
+             */
+            private Entry(long epochMilli, String hash) {
+                this.epochMilli = epochMilli;
+                this.hash = hash;
+            }
+        }
     }
 
     /**
@@ -295,148 +533,1705 @@ public final class TimeHashUtils {
      *                                  or larger than {@link #YEAR_MAX max year}
      */
     public static String hash(LocalDateTime value, SubSecond handler) {
-        return hash(value.getYear(),
+        char[] result = new char[handler.length()];
+        hashInto(value, handler, result, 0);
+        return new String(result);
+    }
+
+    /**
+     * Hashes the date-time into the given array without any intermediate objects, writing
+     * exactly {@link SubSecond#length()} characters.
+     *
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @param dest    the array to write to
+     * @param offset  the offset to start writing from
+     * @return the number of characters written
+     * @throws IllegalArgumentException  if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                   or larger than {@link #YEAR_MAX max year}
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
+     */
+    public static int hashInto(LocalDateTime value, SubSecond handler, char[] dest,
+                               int offset) {
+        return hashInto(value, handler, dest, offset, Encoder.TABLE);
+    }
+
+    /**
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @param dest    the array to write to
+     * @param offset  the offset to start writing from
+     * @param encoder the {@link Encoder} for the fixed-width fields
+     * @return the number of characters written
+     * @see #hashInto(LocalDateTime, SubSecond, char[], int)
+     */
+    static int hashInto(LocalDateTime value, SubSecond handler, char[] dest, int offset,
+                        Encoder encoder) {
+        return hashInto(value.getYear(),
                 value.getMonthValue(),
                 value.getDayOfMonth(),
                 value.get(ChronoField.SECOND_OF_DAY),
-                handler.extract(value),
+                value.getNano(),
+                handler, dest, offset, encoder);
+    }
+
+    /**
+     * Hashes the UTC date-time of the epoch seconds, without creating a {@link LocalDateTime}.
+     *
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond the nano-of-second, from 0 to 999,999,999
+     * @param handler      the {@link SubSecond} value to handle sub-seconds
+     * @return hashed value of the date-time with the desired precision, identical to
+     * {@link #hash(LocalDateTime, SubSecond)} for the equivalent UTC date-time
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     * @throws DateTimeException        if the nano-of-second is invalid
+     */
+    public static String hashEpochSecond(long epochSecond, int nanoOfSecond,
+                                         SubSecond handler) {
+        char[] result = new char[handler.length()];
+        hashEpochSecondInto(epochSecond, nanoOfSecond, handler, result, 0);
+        return new String(result);
+    }
+
+    /**
+     * Hashes the UTC date-time of the epoch milliseconds, without creating a
+     * {@link LocalDateTime}.
+     *
+     * @param epochMilli the number of milliseconds from the epoch of 1970-01-01T00:00:00Z
+     * @param handler    the {@link SubSecond} value to handle sub-seconds
+     * @return hashed value of the date-time with the desired precision, identical to
+     * {@link #hash(LocalDateTime, SubSecond)} for the equivalent UTC date-time
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     */
+    public static String hashEpochMilli(long epochMilli, SubSecond handler) {
+        return hashEpochSecond(Math.floorDiv(epochMilli, MILLIS_PER_SECOND),
+                (int) Math.floorMod(epochMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI,
                 handler);
     }
 
     /**
-     * @param year        the year
-     * @param month       the month of year
-     * @param day         the day of month
-     * @param secondOfDay the second of day
-     * @param subSecond   the sub-seconds value
-     * @param handler     the handler to hash the sub-seconds value
-     * @return the hashed value with the desired precision
+     * Hashes the epoch values in bulk into consecutive, fixed-width slots of
+     * {@link SubSecond#length()} characters. The date and second-of-day characters are
+     * reused across neighbouring values in the same day or second, so sorted values are
+     * hashed fastest.
+     *
+     * @param epochValues the values from the epoch of 1970-01-01T00:00:00Z
+     * @param unit        the unit of the values, not coarser than {@link TimeUnit#SECONDS}
+     * @param handler     the {@link SubSecond} value to handle sub-seconds
+     * @param dest        the array to write to
+     * @param offset      the offset to start writing from
+     * @return the number of characters written
+     * @throws IllegalArgumentException  if the unit is coarser than seconds, or if any
+     *                                   year is less than {@link #YEAR_EPOCH epoch year} or
+     *                                   larger than {@link #YEAR_MAX max year}, in which case
+     *                                   the preceding values are already written
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
      */
-    private static String hash(int year, int month, int day, int secondOfDay, int subSecond,
-                               SubSecond handler) {
-        if (year < YEAR_EPOCH) {
-            throw new IllegalArgumentException("Year before " + YEAR_EPOCH);
+    public static int hash(long[] epochValues, TimeUnit unit, SubSecond handler, char[] dest,
+                           int offset) {
+        int length = bulkLength(epochValues.length, handler);
+        checkRange(dest.length, offset, length);
+        BulkEncoder encoder = new BulkEncoder(unit, handler);
+        int stride = handler.length();
+        for (int i = 0; i < epochValues.length; i++) {
+            System.arraycopy(encoder.encode(epochValues[i]), 0, dest, offset + i * stride,
+                    stride);
         }
-        if (year > YEAR_MAX) {
-            throw new IllegalArgumentException("Year after " + YEAR_MAX);
+        return length;
+    }
+
+    /**
+     * Hashes the epoch values in bulk as ASCII bytes into consecutive, fixed-width slots of
+     * {@link SubSecond#length()} bytes.
+     *
+     * @param epochValues the values from the epoch of 1970-01-01T00:00:00Z
+     * @param unit        the unit of the values, not coarser than {@link TimeUnit#SECONDS}
+     * @param handler     the {@link SubSecond} value to handle sub-seconds
+     * @param dest        the array to write to
+     * @param offset      the offset to start writing from
+     * @return the number of bytes written
+     * @throws IllegalArgumentException  if the unit is coarser than seconds, or if any
+     *                                   year is less than {@link #YEAR_EPOCH epoch year} or
+     *                                   larger than {@link #YEAR_MAX max year}, in which case
+     *                                   the preceding values are already written
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
+     * @see #hash(long[], TimeUnit, SubSecond, char[], int)
+     */
+    public static int hash(long[] epochValues, TimeUnit unit, SubSecond handler, byte[] dest,
+                           int offset) {
+        int length = bulkLength(epochValues.length, handler);
+        checkRange(dest.length, offset, length);
+        hash(epochValues, 0, epochValues.length, new BulkEncoder(unit, handler), dest,
+                offset);
+        return length;
+    }
+
+    /**
+     * @param epochValues the values from the epoch of 1970-01-01T00:00:00Z
+     * @param from        the start index, inclusive
+     * @param to          the end index, exclusive
+     * @param encoder     the {@link BulkEncoder} to use
+     * @param dest        the array to write to, with sufficient space
+     * @param offset      the offset to start writing from
+     */
+    private static void hash(long[] epochValues, int from, int to, BulkEncoder encoder,
+                             byte[] dest, int offset) {
+        int stride = encoder.handler.length();
+        for (int i = from, position = offset; i < to; i++, position += stride) {
+            char[] hash = encoder.encode(epochValues[i]);
+            for (int j = 0; j < stride; j++) {
+                dest[position + j] = (byte) hash[j];
+            }
         }
-        StringBuilder result = new StringBuilder();
-        IntStream.of(year - YEAR_EPOCH, month, day).forEach(v -> result.append(CHARS[v]));
-        return result.append(toHash(secondOfDay, 3)).append(handler.hash(subSecond)).toString();
     }
 
     /**
-     * @param value     the value to hash
-     * @param padLength the expected length to pad to
-     * @return hashed value
+     * Hashes the epoch values in bulk as ASCII bytes like
+     * {@link #hash(long[], TimeUnit, SubSecond, byte[], int)}, split across the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param epochValues the values from the epoch of 1970-01-01T00:00:00Z
+     * @param unit        the unit of the values, not coarser than {@link TimeUnit#SECONDS}
+     * @param handler     the {@link SubSecond} value to handle sub-seconds
+     * @param dest        the array to write to
+     * @param offset      the offset to start writing from
+     * @return the number of bytes written
+     * @throws IllegalArgumentException  if the unit is coarser than seconds, or if any
+     *                                   year is less than {@link #YEAR_EPOCH epoch year} or
+     *                                   larger than {@link #YEAR_MAX max year}, in which case
+     *                                   any other value may already be written
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
+     * @see #parallelHash(long[], TimeUnit, SubSecond, byte[], int, ForkJoinPool)
      */
-    private static String toHash(int value, int padLength) {
-        StringBuilder result = createWith(padLength);
-        int remaining = value;
-        for (int i = padLength - 1; i >= 0; i--) {
-            result.setCharAt(i, CHARS[remaining % RADIX]);
-            remaining /= RADIX;
+    public static int parallelHash(long[] epochValues, TimeUnit unit, SubSecond handler,
+                                   byte[] dest, int offset) {
+        return parallelHash(epochValues, unit, handler, dest, offset,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Hashes the epoch values in bulk as ASCII bytes like
+     * {@link #hash(long[], TimeUnit, SubSecond, byte[], int)}, split across the pool in
+     * chunks of 8,192 values. Each chunk is hashed by its own encoder into its
+     * own slots, so no mutable state is shared between the tasks.
+     *
+     * @param epochValues the values from the epoch of 1970-01-01T00:00:00Z
+     * @param unit        the unit of the values, not coarser than {@link TimeUnit#SECONDS}
+     * @param handler     the {@link SubSecond} value to handle sub-seconds
+     * @param dest        the array to write to
+     * @param offset      the offset to start writing from
+     * @param pool        the pool to run the tasks in
+     * @return the number of bytes written
+     * @throws IllegalArgumentException  if the unit is coarser than seconds, or if any
+     *                                   year is less than {@link #YEAR_EPOCH epoch year} or
+     *                                   larger than {@link #YEAR_MAX max year}, in which case
+     *                                   any other value may already be written
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
+     */
+    public static int parallelHash(long[] epochValues, TimeUnit unit, SubSecond handler,
+                                   byte[] dest, int offset, ForkJoinPool pool) {
+        int length = bulkLength(epochValues.length, handler);
+        checkRange(dest.length, offset, length);
+        BulkEncoder.perSecond(unit);
+        pool.invoke(new HashTask(epochValues, 0, epochValues.length, unit, handler, dest,
+                offset));
+        return length;
+    }
+
+    /**
+     * Hashes a range of epoch values, halving it until it fits in a chunk.
+     */
+    private static final class HashTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long[] epochValues;
+        private final int from;
+        private final int to;
+        private final TimeUnit unit;
+        private final SubSecond handler;
+        private final byte[] dest;
+        private final int offset;
+
+        /**
+         * @param epochValues the values from the epoch of 1970-01-01T00:00:00Z
+         * @param from        the start index, inclusive
+         * @param to          the end index, exclusive
+         * @param unit        the unit of the values
+         * @param handler     the {@link SubSecond} value to handle sub-seconds
+         * @param dest        the array to write to, with sufficient space
+         * @param offset      the offset to write the first value of the range to
+         */
+        private HashTask(long[] epochValues, int from, int to, TimeUnit unit,
+                         SubSecond handler, byte[] dest, int offset) {
+            this.epochValues = epochValues;
+            this.from = from;
+            this.to = to;
+            this.unit = unit;
+            this.handler = handler;
+            this.dest = dest;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_ROWS) {
+                hash(epochValues, from, to, new BulkEncoder(unit, handler), dest, offset);
+                return;
+            }
+            int middle = split(from, to);
+            invokeAll(new HashTask(epochValues, from, middle, unit, handler, dest, offset),
+                    new HashTask(epochValues, middle, to, unit, handler, dest,
+                            offset + (middle - from) * handler.length()));
         }
-        return result.toString();
     }
 
     /**
-     * @param padLength the expected length to pad to
-     * @return the initial {@link StringBuilder}
+     * @param from the start index, inclusive
+     * @param to   the end index, exclusive
+     * @return the index to split the range at, as a multiple of {@link #CHUNK_ROWS} values
+     * from the start
      */
-    private static StringBuilder createWith(int padLength) {
-        StringBuilder builder = new StringBuilder(padLength);
-        IntStream.range(0, padLength).forEach(i -> builder.append(CHARS[0]));
-        return builder;
+    private static int split(int from, int to) {
+        int chunks = (int) (((long) to - from + CHUNK_ROWS - 1) / CHUNK_ROWS);
+        return from + chunks / 2 * CHUNK_ROWS;
     }
 
     /**
-     * Unhashes a string with the appropriate precision, based on its length
+     * @param count   the number of values
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the number of characters for the hashes of all values
+     * @throws IndexOutOfBoundsException if the number of characters overflows
+     */
+    private static int bulkLength(int count, SubSecond handler) {
+        long result = (long) count * handler.length();
+        if (result > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("Too many values: " + count);
+        }
+        return (int) result;
+    }
+
+    /**
+     * Hashes epoch values one after another, reusing the date and second-of-day characters
+     * of the previous value where possible. Not thread-safe.
+     */
+    private static final class BulkEncoder {
+
+        private final SubSecond handler;
+        private final long perSecond;
+        private final int nanosPerValue;
+        private final char[] hash;
+        private long lastEpochSecond = Long.MIN_VALUE;
+        private long lastEpochDay = Long.MIN_VALUE;
+
+        /**
+         * @param unit    the unit of the values, not coarser than {@link TimeUnit#SECONDS}
+         * @param handler the {@link SubSecond} value to handle sub-seconds
+         * @throws IllegalArgumentException if the unit is coarser than seconds
+         */
+        private BulkEncoder(TimeUnit unit, SubSecond handler) {
+            this.handler = handler;
+            this.perSecond = perSecond(unit);
+            this.nanosPerValue = (int) (NANOS_PER_SECOND / perSecond);
+            this.hash = new char[handler.length()];
+        }
+
+        /**
+         * @param unit the unit of the values
+         * @return the number of values per second
+         * @throws IllegalArgumentException if the unit is coarser than seconds
+         */
+        private static long perSecond(TimeUnit unit) {
+            long result = unit.convert(1, TimeUnit.SECONDS);
+            validate(result > 0, "Unit is coarser than seconds: " + unit);
+            return result;
+        }
+
+        /**
+         * @param value the value from the epoch of 1970-01-01T00:00:00Z
+         * @return the hash of the value, which is overwritten by the next call
+         * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch
+         *                                  year} or larger than {@link #YEAR_MAX max year}
+         */
+        private char[] encode(long value) {
+            long epochSecond = Math.floorDiv(value, perSecond);
+            if (epochSecond != lastEpochSecond) {
+                long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+                if (epochDay != lastEpochDay) {
+                    int date = toCivil(epochDay);
+                    hash[0] = CHARS[date >>> 9];
+                    hash[1] = CHARS[date >>> 5 & 0xF];
+                    hash[2] = CHARS[date & 0x1F];
+                    lastEpochDay = epochDay;
+                }
+                Encoder.TABLE.secondOfDay((int) (epochSecond - epochDay * SECONDS_PER_DAY),
+                        hash, 3);
+                lastEpochSecond = epochSecond;
+            }
+            int nanoOfSecond = (int) (value - epochSecond * perSecond) * nanosPerValue;
+            Encoder.TABLE.subSecond(handler.value(nanoOfSecond), handler, hash, MIN_CHARS);
+            return hash;
+        }
+    }
+
+    /**
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond the nano-of-second, from 0 to 999,999,999
+     * @param handler      the handler to hash the sub-seconds value
+     * @param dest         the array to write to
+     * @param offset       the offset to start writing from
+     * @return the number of characters written
+     */
+    private static int hashEpochSecondInto(long epochSecond, int nanoOfSecond,
+                                           SubSecond handler, char[] dest, int offset) {
+        ChronoField.NANO_OF_SECOND.checkValidIntValue(nanoOfSecond);
+        long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        int date = toCivil(epochDay);
+        return hashInto(YEAR_EPOCH + (date >>> 9), date >>> 5 & 0xF, date & 0x1F,
+                (int) (epochSecond - epochDay * SECONDS_PER_DAY), nanoOfSecond, handler, dest,
+                offset, Encoder.TABLE);
+    }
+
+    /**
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @param nanoOfSecond the nano-of-second, from 0 to 999,999,999
+     * @param handler      the {@link SubSecond} value to handle sub-seconds
+     * @return the number of sub-seconds steps of the UTC date-time from {@link #YEAR_EPOCH},
+     * which is the same as its binary key
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     * @see #encodeBinary(LocalDateTime, SubSecond, byte[], int)
+     */
+    static long tickOf(long epochSecond, int nanoOfSecond, SubSecond handler) {
+        if (epochSecond < EPOCH_SECOND_MIN || epochSecond >= EPOCH_SECOND_MAX) {
+            checkYear(epochSecond < EPOCH_SECOND_MIN ? YEAR_EPOCH - 1 : YEAR_MAX + 1);
+        }
+        return (epochSecond - EPOCH_SECOND_MIN) * handler.steps() + handler.value(nanoOfSecond);
+    }
+
+    /**
+     * @param zone        the zone of the local date-time
+     * @param epochSecond the number of seconds from the epoch of 1970-01-01T00:00:00Z
+     * @return the number of seconds that the local date-time in the zone is ahead of UTC at
+     * the epoch second, which epoch values are shifted by to hash the same as
+     * {@link #hash(Clock, SubSecond)}
+     */
+    static int offsetSeconds(ZoneId zone, long epochSecond) {
+        if (zone instanceof ZoneOffset) {
+            return ((ZoneOffset) zone).getTotalSeconds();
+        }
+        return zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    }
+
+    /**
+     * @param tick    the number of sub-seconds steps from {@link #YEAR_EPOCH}, less than
+     *                {@link SubSecond#ticks()}
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @param dest    the array to write to
+     * @param offset  the offset to start writing from
+     * @return the number of characters written
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     * @see #tickOf(long, int, SubSecond)
+     */
+    static int hashTickInto(long tick, SubSecond handler, char[] dest, int offset) {
+        long steps = handler.steps();
+        return hashEpochSecondInto(EPOCH_SECOND_MIN + Math.floorDiv(tick, steps),
+                (int) Math.floorMod(tick, steps) * handler.unit, handler, dest, offset);
+    }
+
+    /**
+     * Converts the epoch day to its date fields using the proleptic Gregorian
+     * civil-from-days algorithm, i.e. with primitive arithmetic only.
      *
-     * @param hash the value to unhash
-     * @return the resulting {@link LocalDateTime} representation
-     * @throws IllegalArgumentException if the string does not pass validation
+     * @param epochDay the number of days from 1970-01-01
+     * @return the year from {@link #YEAR_EPOCH}, month of year and day of month, packed as
+     * {@code yearOfEpoch << 9 | month << 5 | day}
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
      */
-    public static LocalDateTime unhash(String hash) {
-        validate(hash, v -> v.length() <= MIN_CHARS + SubSecond.VALUES.length);
-        return unhash(hash, SubSecond.VALUES[hash.length() - MIN_CHARS]);
+    private static int toCivil(long epochDay) {
+        long shifted = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shifted, DAYS_PER_CYCLE);
+        int dayOfEra = (int) (shifted - era * DAYS_PER_CYCLE);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096)
+                / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int marchMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * marchMonth + 2) / 5 + 1;
+        int month = marchMonth < 10 ? marchMonth + 3 : marchMonth - 9;
+        long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+        checkYear(year);
+        return (int) (year - YEAR_EPOCH) << 9 | month << 5 | day;
     }
 
     /**
-     * Unhashes a string with the given precision
+     * @param year         the year
+     * @param month        the month of year
+     * @param day          the day of month
+     * @param secondOfDay  the second of day
+     * @param nanoOfSecond the nano-of-second value
+     * @param handler      the handler to hash the sub-seconds value
+     * @param dest         the array to write to
+     * @param offset       the offset to start writing from
+     * @param encoder      the {@link Encoder} for the fixed-width fields
+     * @return the number of characters written
+     */
+    private static int hashInto(int year, int month, int day, int secondOfDay,
+                                int nanoOfSecond, SubSecond handler, char[] dest, int offset,
+                                Encoder encoder) {
+        checkYear(year);
+        int length = handler.length();
+        checkRange(dest.length, offset, length);
+        dest[offset] = CHARS[year - YEAR_EPOCH];
+        dest[offset + 1] = CHARS[month];
+        dest[offset + 2] = CHARS[day];
+        encoder.secondOfDay(secondOfDay, dest, offset + 3);
+        encoder.subSecond(handler.value(nanoOfSecond), handler, dest, offset + MIN_CHARS);
+        return length;
+    }
+
+    /**
+     * Hashes the date-time as ASCII bytes into the given array, writing exactly
+     * {@link SubSecond#length()} bytes.
      *
-     * @param hash    the value to unhash
+     * @param value   the date-time to hash
      * @param handler the {@link SubSecond} value to handle sub-seconds
-     * @return the resulting {@link LocalDateTime} representation
-     * @throws IllegalArgumentException if the string does not pass validation
+     * @param dest    the array to write to
+     * @param offset  the offset to start writing from
+     * @return the number of bytes written
+     * @throws IllegalArgumentException  if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                   or larger than {@link #YEAR_MAX max year}
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
      */
-    public static LocalDateTime unhash(String hash, SubSecond handler) {
-        validate(hash, v -> PATTERN.matcher(v.substring(0, MIN_CHARS)).matches());
-        String subSecond = hash.substring(MIN_CHARS);
-        validate(subSecond, handler::matches,
-                "Subsecond does not match pattern: " + handler.pattern());
-        LocalDateTime result = LocalDateTime.of(YEAR_EPOCH + parse(hash.charAt(0)),
-                parse(hash.charAt(1)), parse(hash.charAt(2)), 0, 0)
-                .with(ChronoField.SECOND_OF_DAY, parse(hash.substring(3, MIN_CHARS)));
-        return handler.unhash(subSecond, result).query(LocalDateTime::from);
+    public static int hashInto(LocalDateTime value, SubSecond handler, byte[] dest,
+                               int offset) {
+        return hashInto(value.getYear(),
+                value.getMonthValue(),
+                value.getDayOfMonth(),
+                value.get(ChronoField.SECOND_OF_DAY),
+                value.getNano(),
+                handler, dest, offset);
     }
 
     /**
-     * @param value     the string to validate
-     * @param predicate the {@link Predicate} to test the string
-     * @throws IllegalArgumentException if the string does not pass validation
+     * Hashes the date-time as ASCII bytes into the given buffer at its current position,
+     * which is then advanced by {@link SubSecond#length()}.
+     *
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @param dest    the heap or direct buffer to write to
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     * @throws BufferOverflowException  if there is insufficient space remaining
+     * @throws ReadOnlyBufferException  if the buffer is read-only
      */
-    private static void validate(String value, Predicate<String> predicate) {
-        validate(value, hash -> hash.length() >= MIN_CHARS && predicate.test(hash),
-                "Does not match pattern: " + PATTERN.pattern());
+    public static int hashInto(LocalDateTime value, SubSecond handler, ByteBuffer dest) {
+        int length = handler.length();
+        if (dest.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (dest.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        int position = dest.position();
+        if (dest.hasArray()) {
+            hashInto(value, handler, dest.array(), dest.arrayOffset() + position);
+        } else {
+            hashInto(value.getYear(),
+                    value.getMonthValue(),
+                    value.getDayOfMonth(),
+                    value.get(ChronoField.SECOND_OF_DAY),
+                    value.getNano(),
+                    handler, dest, position);
+        }
+        dest.position(position + length);
+        return length;
     }
 
     /**
-     * @param value     the string to validate
-     * @param predicate the {@link Predicate} to test the string
-     * @param message   the message to throw the {@link IllegalArgumentException} with
-     * @throws IllegalArgumentException if the string does not pass validation
+     * @param year         the year
+     * @param month        the month of year
+     * @param day          the day of month
+     * @param secondOfDay  the second of day
+     * @param nanoOfSecond the nano-of-second value
+     * @param handler      the handler to hash the sub-seconds value
+     * @param dest         the array to write to
+     * @param offset       the offset to start writing from
+     * @return the number of bytes written
      */
-    private static void validate(String value, Predicate<String> predicate, String message) {
-        if (value == null || !predicate.test(value)) {
-            throw new IllegalArgumentException(message);
+    private static int hashInto(int year, int month, int day, int secondOfDay,
+                                int nanoOfSecond, SubSecond handler, byte[] dest, int offset) {
+        checkYear(year);
+        int length = handler.length();
+        checkRange(dest.length, offset, length);
+        dest[offset] = BYTES[year - YEAR_EPOCH];
+        dest[offset + 1] = BYTES[month];
+        dest[offset + 2] = BYTES[day];
+        toHash(secondOfDay, 3, dest, offset + 3);
+        toHash(handler.value(nanoOfSecond), handler.length, dest, offset + MIN_CHARS);
+        return length;
+    }
+
+    /**
+     * @param year         the year
+     * @param month        the month of year
+     * @param day          the day of month
+     * @param secondOfDay  the second of day
+     * @param nanoOfSecond the nano-of-second value
+     * @param handler      the handler to hash the sub-seconds value
+     * @param dest         the buffer to write to, with sufficient space remaining
+     * @param index        the absolute index to start writing from
+     */
+    private static void hashInto(int year, int month, int day, int secondOfDay,
+                                 int nanoOfSecond, SubSecond handler, ByteBuffer dest,
+                                 int index) {
+        checkYear(year);
+        dest.put(index, BYTES[year - YEAR_EPOCH]);
+        dest.put(index + 1, BYTES[month]);
+        dest.put(index + 2, BYTES[day]);
+        toHash(secondOfDay, 3, dest, index + 3);
+        toHash(handler.value(nanoOfSecond), handler.length, dest, index + MIN_CHARS);
+    }
+
+    /**
+     * Appends the hash of the date-time to the builder without any intermediate objects.
+     *
+     * @param dest    the builder to append to
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the builder
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     */
+    public static StringBuilder appendTo(StringBuilder dest, LocalDateTime value,
+                                         SubSecond handler) {
+        try {
+            appendTo((Appendable) dest, value, handler);
+        } catch (IOException e) {
+            // StringBuilder does not throw IOException
+            throw new UncheckedIOException(e);
         }
+        return dest;
     }
 
     /**
-     * @param characters the hashed string to parse
-     * @return the numeric representation from the hashed string
+     * Appends the hash of the date-time to the {@link Appendable} one character at a time.
+     *
+     * @param dest    the {@link Appendable} to append to
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the {@link Appendable}
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     * @throws IOException              if the {@link Appendable} throws one
      */
-    private static int parse(String characters) {
-        int upperBound = characters.length() - 1;
-        return IntStream.rangeClosed(0, upperBound)
-                .map(i -> TimeHashUtils.parse(characters.charAt(i), upperBound - i)).sum();
+    public static Appendable appendTo(Appendable dest, LocalDateTime value, SubSecond handler)
+            throws IOException {
+        int year = value.getYear();
+        checkYear(year);
+        dest.append(CHARS[year - YEAR_EPOCH])
+                .append(CHARS[value.getMonthValue()])
+                .append(CHARS[value.getDayOfMonth()]);
+        toHash(value.get(ChronoField.SECOND_OF_DAY), 3, dest);
+        toHash(handler.value(value.getNano()), handler.length, dest);
+        return dest;
     }
 
     /**
-     * @param digit the digit to parse
-     * @return the numeric representation of the hashed digit
+     * @param year the year to check
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
      */
-    private static int parse(char digit) {
-        return parse(digit, 0);
+    private static void checkYear(long year) {
+        if (year < YEAR_EPOCH) {
+            throw new IllegalArgumentException("Year before " + YEAR_EPOCH);
+        }
+        if (year > YEAR_MAX) {
+            throw new IllegalArgumentException("Year after " + YEAR_MAX);
+        }
     }
 
     /**
-     * @param digit the digit to parse
-     * @param power the power to use
-     * @return the numeric representation of the hashed digit with the given power of the base
+     * @param size   the size of the source or destination
+     * @param offset the offset to start from
+     * @param length the number of elements to read or write
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    private static void checkRange(int size, int offset, int length) {
+        if (offset < 0 || length < 0 || size - offset < length) {
+            throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + "
+                    + length + ") out of bounds for length " + size);
+        }
+    }
+
+    /**
+     * @param value     the value to hash
+     * @param padLength the expected length to pad to
+     * @param dest      the array to write to
+     * @param offset    the offset to start writing from
      */
-    private static int parse(char digit, int power) {
-        return (int) Math.pow(RADIX, power) * Arrays.binarySearch(CHARS, digit);
+    static void toHash(int value, int padLength, char[] dest, int offset) {
+        int remaining = value;
+        for (int i = offset + padLength - 1; i >= offset; i--) {
+            dest[i] = CHARS[remaining % RADIX];
+            remaining /= RADIX;
+        }
+    }
+
+    /**
+     * @param value     the value to hash
+     * @param padLength the expected length to pad to
+     * @param dest      the array to write to
+     * @param offset    the offset to start writing from
+     */
+    private static void toHash(int value, int padLength, byte[] dest, int offset) {
+        int remaining = value;
+        for (int i = offset + padLength - 1; i >= offset; i--) {
+            dest[i] = BYTES[remaining % RADIX];
+            remaining /= RADIX;
+        }
+    }
+
+    /**
+     * @param value     the value to hash
+     * @param padLength the expected length to pad to
+     * @param dest      the buffer to write to
+     * @param index     the absolute index to start writing from
+     */
+    private static void toHash(int value, int padLength, ByteBuffer dest, int index) {
+        int remaining = value;
+        for (int i = index + padLength - 1; i >= index; i--) {
+            dest.put(i, BYTES[remaining % RADIX]);
+            remaining /= RADIX;
+        }
+    }
+
+    /**
+     * @param value     the value to hash
+     * @param padLength the expected length to pad to
+     * @param dest      the {@link Appendable} to append to
+     * @throws IOException if the {@link Appendable} throws one
+     */
+    private static void toHash(int value, int padLength, Appendable dest) throws IOException {
+        for (int i = padLength - 1; i >= 0; i--) {
+            dest.append(CHARS[value / POWERS[i] % RADIX]);
+        }
+    }
+
+    /**
+     * Unhashes a string with the appropriate precision, based on its length
+     *
+     * @param hash the value to unhash
+     * @return the resulting {@link LocalDateTime} representation
+     * @throws IllegalArgumentException if the string does not pass validation
+     */
+    public static LocalDateTime unhash(String hash) {
+        return unhash(hash, 0, hash == null ? 0 : hash.length());
+    }
+
+    /**
+     * Unhashes a slice of characters with the appropriate precision, based on its length,
+     * without copying it out first.
+     *
+     * @param src    the characters containing the value to unhash
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return the resulting {@link LocalDateTime} representation
+     * @throws IllegalArgumentException  if the value does not pass validation
+     * @throws IndexOutOfBoundsException if the slice is out of bounds
+     */
+    public static LocalDateTime unhash(CharSequence src, int offset, int length) {
+        return fromEpochNanos(unhashToEpochNanos(src, offset, length));
+    }
+
+    /**
+     * Unhashes a string with the given precision
+     *
+     * @param hash    the value to unhash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the resulting {@link LocalDateTime} representation
+     * @throws IllegalArgumentException if the string does not pass validation
+     */
+    public static LocalDateTime unhash(String hash, SubSecond handler) {
+        validate(hash != null && hash.length() >= MIN_CHARS, MESSAGE);
+        return fromEpochNanos(checked(decode(hash, 0, hash.length(), handler),
+                hash, 0, hash.length(), handler));
+    }
+
+    /**
+     * Unhashes to the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z, with the
+     * appropriate precision based on its length, without creating any temporal objects.
+     *
+     * @param hash the value to unhash
+     * @return the epoch nanoseconds of the equivalent UTC date-time
+     * @throws IllegalArgumentException if the string does not pass validation
+     * @throws DateTimeException        if the hashed date-time is invalid
+     */
+    public static long unhashToEpochNanos(CharSequence hash) {
+        return unhashToEpochNanos(hash, 0, hash == null ? 0 : hash.length());
+    }
+
+    /**
+     * Unhashes a slice of characters to the number of nanoseconds from the epoch of
+     * 1970-01-01T00:00:00Z, with the appropriate precision based on its length.
+     *
+     * @param src    the characters containing the value to unhash
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return the epoch nanoseconds of the equivalent UTC date-time
+     * @throws IllegalArgumentException  if the value does not pass validation
+     * @throws IndexOutOfBoundsException if the slice is out of bounds
+     * @throws DateTimeException         if the hashed date-time is invalid
+     * @see #unhashToEpochNanos(CharSequence)
+     */
+    public static long unhashToEpochNanos(CharSequence src, int offset, int length) {
+        SubSecond handler = handlerFor(src, offset, length);
+        return checked(decode(src, offset, length, handler), src, offset, length, handler);
+    }
+
+    /**
+     * Unhashes to the number of milliseconds from the epoch of 1970-01-01T00:00:00Z, with
+     * the appropriate precision based on its length, truncating any finer sub-seconds.
+     *
+     * @param hash the value to unhash
+     * @return the epoch milliseconds of the equivalent UTC date-time
+     * @throws IllegalArgumentException if the string does not pass validation
+     * @throws DateTimeException        if the hashed date-time is invalid
+     * @see #unhashToEpochNanos(CharSequence)
+     */
+    public static long unhashToEpochMillis(CharSequence hash) {
+        return unhashToEpochNanos(hash) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Unhashes a slice of characters to the number of milliseconds from the epoch of
+     * 1970-01-01T00:00:00Z, truncating any finer sub-seconds.
+     *
+     * @param src    the characters containing the value to unhash
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return the epoch milliseconds of the equivalent UTC date-time
+     * @throws IllegalArgumentException  if the value does not pass validation
+     * @throws IndexOutOfBoundsException if the slice is out of bounds
+     * @throws DateTimeException         if the hashed date-time is invalid
+     * @see #unhashToEpochNanos(CharSequence, int, int)
+     */
+    public static long unhashToEpochMillis(CharSequence src, int offset, int length) {
+        return unhashToEpochNanos(src, offset, length) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Unhashes a string with the appropriate precision, based on its length, without
+     * throwing any exception for invalid values.
+     *
+     * @param hash the value to unhash
+     * @return the resulting {@link LocalDateTime} representation, or an empty
+     * {@link Optional} if the value is invalid
+     */
+    public static Optional<LocalDateTime> tryUnhash(CharSequence hash) {
+        long result = tryUnhashToEpochNanos(hash);
+        return result == INVALID ? Optional.empty() : Optional.of(fromEpochNanos(result));
+    }
+
+    /**
+     * Unhashes to the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z, with the
+     * appropriate precision based on its length, without throwing any exception for
+     * invalid values.
+     *
+     * @param hash the value to unhash
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or {@link #INVALID}
+     * @see #unhashToEpochNanos(CharSequence)
+     */
+    public static long tryUnhashToEpochNanos(CharSequence hash) {
+        return tryUnhashToEpochNanos(hash, 0, hash == null ? 0 : hash.length());
+    }
+
+    /**
+     * Unhashes a slice of characters to the number of nanoseconds from the epoch of
+     * 1970-01-01T00:00:00Z, with the appropriate precision based on its length, without
+     * throwing any exception for invalid values.
+     *
+     * @param src    the characters containing the value to unhash
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or {@link #INVALID}
+     * @throws IndexOutOfBoundsException if the slice is out of bounds
+     * @see #unhashToEpochNanos(CharSequence, int, int)
+     */
+    public static long tryUnhashToEpochNanos(CharSequence src, int offset, int length) {
+        if (!isValidLength(src, length)) {
+            return INVALID;
+        }
+        checkRange(src.length(), offset, length);
+        long result = decode(src, offset, length, SubSecond.VALUES[length - MIN_CHARS]);
+        return result < 0 ? INVALID : result;
+    }
+
+    /**
+     * Unhashes to the number of milliseconds from the epoch of 1970-01-01T00:00:00Z,
+     * truncating any finer sub-seconds, without throwing any exception for invalid values.
+     *
+     * @param hash the value to unhash
+     * @return the epoch milliseconds of the equivalent UTC date-time, or {@link #INVALID}
+     * @see #unhashToEpochMillis(CharSequence)
+     */
+    public static long tryUnhashToEpochMillis(CharSequence hash) {
+        return tryUnhashToEpochMillis(hash, 0, hash == null ? 0 : hash.length());
+    }
+
+    /**
+     * Unhashes a slice of characters to the number of milliseconds from the epoch of
+     * 1970-01-01T00:00:00Z, truncating any finer sub-seconds, without throwing any
+     * exception for invalid values.
+     *
+     * @param src    the characters containing the value to unhash
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return the epoch milliseconds of the equivalent UTC date-time, or {@link #INVALID}
+     * @throws IndexOutOfBoundsException if the slice is out of bounds
+     * @see #unhashToEpochMillis(CharSequence, int, int)
+     */
+    public static long tryUnhashToEpochMillis(CharSequence src, int offset, int length) {
+        long result = tryUnhashToEpochNanos(src, offset, length);
+        return result == INVALID ? INVALID : result / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Packs the hash into a single {@code long}, which records its precision.
+     * <p>
+     * Packed values of the same precision compare in the same order as their strings, and
+     * values of different precisions compare by their date-times first, then by precision.
+     * The layout, from the most significant bit, is 31 bits for the seconds from the start
+     * of {@link #YEAR_EPOCH}, 30 bits for the nano-of-second truncated to the precision, and
+     * 3 bits for the {@link SubSecond} ordinal, with the sign bit flipped so that signed
+     * comparison matches.
+     *
+     * @param hash the value to pack
+     * @return the packed representation
+     * @throws IllegalArgumentException if the string does not pass validation
+     * @throws DateTimeException        if the hashed date-time is invalid
+     * @see #fromLong(long)
+     */
+    public static long toLong(CharSequence hash) {
+        long epochNanos = unhashToEpochNanos(hash);
+        return pack(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND),
+                SubSecond.VALUES[hash.length() - MIN_CHARS]);
+    }
+
+    /**
+     * Packs the hash of the date-time, without creating the string.
+     *
+     * @param value   the date-time to hash
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the packed representation
+     * @throws IllegalArgumentException if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                  or larger than {@link #YEAR_MAX max year}
+     * @see #toLong(CharSequence)
+     */
+    public static long toLong(LocalDateTime value, SubSecond handler) {
+        checkYear(value.getYear());
+        return pack(value.toEpochSecond(ZoneOffset.UTC), value.getNano(), handler);
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the hash
+     * @throws IllegalArgumentException if the packed representation is invalid
+     * @see #toLong(CharSequence)
+     */
+    public static String fromLong(long packed) {
+        SubSecond handler = precisionOf(packed);
+        return hashEpochSecond(EPOCH_SECOND_MIN + (unpack(packed) >>> 33),
+                nanoOfSecond(packed), handler);
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the resulting {@link LocalDateTime} representation
+     * @throws IllegalArgumentException if the packed representation is invalid
+     * @see #toLong(LocalDateTime, SubSecond)
+     */
+    public static LocalDateTime toLocalDateTime(long packed) {
+        return fromEpochNanos(toEpochNanos(packed));
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException if the packed representation is invalid
+     */
+    public static long toEpochNanos(long packed) {
+        precisionOf(packed);
+        return (EPOCH_SECOND_MIN + (unpack(packed) >>> 33)) * NANOS_PER_SECOND
+                + nanoOfSecond(packed);
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the precision of the packed representation
+     * @throws IllegalArgumentException if the packed representation is invalid
+     */
+    public static SubSecond precisionOf(long packed) {
+        int ordinal = (int) (unpack(packed) & 0b111);
+        validate(ordinal < SubSecond.VALUES.length, "Invalid packed precision");
+        SubSecond result = SubSecond.VALUES[ordinal];
+        int nanoOfSecond = nanoOfSecond(packed);
+        validate(nanoOfSecond < NANOS_PER_SECOND && nanoOfSecond % result.unit == 0,
+                "Invalid packed sub-seconds");
+        validate(unpack(packed) >>> 33 < EPOCH_SECOND_MAX - EPOCH_SECOND_MIN,
+                "Invalid packed seconds");
+        return result;
+    }
+
+    /**
+     * @param epochSecond  the number of seconds from the epoch of 1970-01-01T00:00:00Z, in
+     *                     the range of {@link #YEAR_EPOCH} to {@link #YEAR_MAX}
+     * @param nanoOfSecond the nano-of-second value
+     * @param handler      the handler to truncate the nano-of-second value with
+     * @return the packed representation
+     */
+    private static long pack(long epochSecond, int nanoOfSecond, SubSecond handler) {
+        return ((epochSecond - EPOCH_SECOND_MIN) << 33
+                | (long) handler.truncate(nanoOfSecond) << 3
+                | handler.ordinal()) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the unsigned layout of the packed representation
+     */
+    private static long unpack(long packed) {
+        return packed ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * @param packed the packed representation
+     * @return the nano-of-second value of the packed representation
+     */
+    private static int nanoOfSecond(long packed) {
+        return (int) (unpack(packed) >>> 3 & ((1 << 30) - 1));
+    }
+
+    /**
+     * Converts the hash to another precision using integer arithmetic on its sub-seconds
+     * digits only, truncating when the target is coarser. The {@code YMdHms} characters are
+     * copied as they are, so only their alphabet is validated, not the date-time itself.
+     *
+     * @param hash   the value to convert
+     * @param target the desired precision
+     * @return the hash with the desired precision
+     * @throws IllegalArgumentException if the string does not pass validation
+     * @throws DateTimeException        if the hashed sub-seconds value is invalid
+     */
+    public static String convert(CharSequence hash, SubSecond target) {
+        SubSecond handler = handlerFor(hash, 0, hash == null ? 0 : hash.length());
+        validate(parse(hash, 0, MIN_CHARS) >= 0, MESSAGE);
+        int subSecond = parse(hash, MIN_CHARS, hash.length());
+        validate(subSecond >= 0, handler.message);
+        long nanoOfSecond = (long) handler.unit * subSecond;
+        if (nanoOfSecond >= NANOS_PER_SECOND) {
+            handler.check(subSecond);
+        }
+        char[] result = new char[target.length()];
+        for (int i = 0; i < MIN_CHARS; i++) {
+            result[i] = hash.charAt(i);
+        }
+        toHash(target.value((int) nanoOfSecond), target.length, result, MIN_CHARS);
+        return new String(result);
+    }
+
+    /**
+     * Converts the packed representation to another precision, truncating when the target
+     * is coarser.
+     *
+     * @param packed the packed representation
+     * @param target the desired precision
+     * @return the packed representation with the desired precision
+     * @throws IllegalArgumentException if the packed representation is invalid
+     * @see #toLong(CharSequence)
+     */
+    public static long convert(long packed, SubSecond target) {
+        precisionOf(packed);
+        return pack(EPOCH_SECOND_MIN + (unpack(packed) >>> 33), nanoOfSecond(packed), target);
+    }
+
+    /**
+     * Encodes the date-time as a fixed-width binary key of {@link SubSecond#binaryLength()}
+     * big-endian bytes, whose unsigned lexicographic order is the same as the order of the
+     * date-times at the given precision. The key is the number of sub-seconds steps from the
+     * start of {@link #YEAR_EPOCH}, which takes 4 to 8 bytes instead of 6 to 12 characters.
+     *
+     * @param value   the date-time to encode
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @param dest    the array to write to
+     * @param offset  the offset to start writing from
+     * @return the number of bytes written
+     * @throws IllegalArgumentException  if year is less than {@link #YEAR_EPOCH epoch year}
+     *                                   or larger than {@link #YEAR_MAX max year}
+     * @throws IndexOutOfBoundsException if there is insufficient space from the offset
+     * @see #decodeBinary(byte[], int, SubSecond)
+     */
+    public static int encodeBinary(LocalDateTime value, SubSecond handler, byte[] dest,
+                                   int offset) {
+        checkYear(value.getYear());
+        int length = handler.binaryLength;
+        checkRange(dest.length, offset, length);
+        long key = (value.toEpochSecond(ZoneOffset.UTC) - EPOCH_SECOND_MIN) * handler.steps()
+                + handler.value(value.getNano());
+        for (int i = offset + length - 1; i >= offset; i--) {
+            dest[i] = (byte) key;
+            key >>>= Byte.SIZE;
+        }
+        return length;
+    }
+
+    /**
+     * @param src     the array to read {@link SubSecond#binaryLength()} bytes from
+     * @param offset  the offset to start reading from
+     * @param handler the {@link SubSecond} value the key was encoded with
+     * @return the resulting {@link LocalDateTime} representation
+     * @throws IllegalArgumentException  if the binary key is invalid
+     * @throws IndexOutOfBoundsException if there are insufficient bytes from the offset
+     * @see #encodeBinary(LocalDateTime, SubSecond, byte[], int)
+     */
+    public static LocalDateTime decodeBinary(byte[] src, int offset, SubSecond handler) {
+        return fromEpochNanos(decodeBinaryToEpochNanos(src, offset, handler));
+    }
+
+    /**
+     * @param src     the array to read {@link SubSecond#binaryLength()} bytes from
+     * @param offset  the offset to start reading from
+     * @param handler the {@link SubSecond} value the key was encoded with
+     * @return the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     * @throws IllegalArgumentException  if the binary key is invalid
+     * @throws IndexOutOfBoundsException if there are insufficient bytes from the offset
+     * @see #decodeBinary(byte[], int, SubSecond)
+     */
+    public static long decodeBinaryToEpochNanos(byte[] src, int offset, SubSecond handler) {
+        int length = handler.binaryLength;
+        checkRange(src.length, offset, length);
+        long key = 0;
+        for (int i = offset; i < offset + length; i++) {
+            key = key << Byte.SIZE | (src[i] & 0xFF);
+        }
+        validate(key >= 0 && key < handler.binaryLimit, "Invalid binary key");
+        long steps = handler.steps();
+        return (EPOCH_SECOND_MIN + key / steps) * NANOS_PER_SECOND + key % steps * handler.unit;
+    }
+
+    /**
+     * Unhashes ASCII bytes to the number of nanoseconds from the epoch of
+     * 1970-01-01T00:00:00Z, without throwing any exception for invalid values. The bytes are
+     * read 8 at a time, which suits scanning binary logs.
+     *
+     * @param src     the ASCII bytes containing the value to unhash
+     * @param offset  the offset of the value
+     * @param handler the {@link SubSecond} value the value was hashed with
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or {@link #INVALID}
+     * @throws IndexOutOfBoundsException if there are insufficient bytes for the value
+     * @see #tryUnhashToEpochNanos(CharSequence, int, int)
+     */
+    public static long tryUnhashToEpochNanos(byte[] src, int offset, SubSecond handler) {
+        checkRange(src.length, offset, handler.length());
+        long result = decode(src, offset, handler);
+        return result < 0 ? INVALID : result;
+    }
+
+    /**
+     * Unhashes the values in bulk to epoch nanoseconds, each with the appropriate precision
+     * based on its length. Invalid values are marked instead of throwing any exception.
+     *
+     * @param hashes  the values to unhash
+     * @param dest    the array to write the epoch nanoseconds of each value to, or
+     *                {@link #INVALID} for invalid values
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @return the number of invalid values
+     * @throws IndexOutOfBoundsException if the destination is shorter than the values
+     */
+    public static int unhash(CharSequence[] hashes, long[] dest, BitSet invalid) {
+        checkRange(dest.length, 0, hashes.length);
+        int result = 0;
+        for (int i = 0; i < hashes.length; i++) {
+            long value = tryUnhashToEpochNanos(hashes[i]);
+            dest[i] = value;
+            if (value == INVALID) {
+                invalid.set(i);
+                result++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Unhashes a column of fixed-length values, one every {@code stride} characters, to
+     * epoch nanoseconds until the destination is filled. Invalid values are marked instead
+     * of throwing any exception.
+     *
+     * @param src     the characters containing the values to unhash
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values, at least
+     *                {@link SubSecond#length()}
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to, or
+     *                {@link #INVALID} for invalid values
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @return the number of invalid values
+     * @throws IllegalArgumentException  if the stride is shorter than the hash length
+     * @throws IndexOutOfBoundsException if there are insufficient characters for all values
+     */
+    public static int unhash(char[] src, int offset, int stride, SubSecond handler,
+                             long[] dest, BitSet invalid) {
+        checkColumn(src.length, offset, stride, handler, dest.length);
+        int result = 0;
+        for (int i = 0, position = offset; i < dest.length; i++, position += stride) {
+            long value = decode(src, position, handler);
+            if (value < 0) {
+                value = INVALID;
+                invalid.set(i);
+                result++;
+            }
+            dest[i] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Unhashes a column of fixed-length ASCII values, one every {@code stride} bytes, to
+     * epoch nanoseconds until the destination is filled. Invalid values are marked instead
+     * of throwing any exception.
+     * <p>
+     * On Java 17 or later with {@code --add-modules jdk.incubator.vector}, this is vectorized
+     * using the Java 17 classes of the multi-release JAR.
+     *
+     * @param src     the ASCII bytes containing the values to unhash
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values, at least
+     *                {@link SubSecond#length()}
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to, or
+     *                {@link #INVALID} for invalid values
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @return the number of invalid values
+     * @throws IllegalArgumentException  if the stride is shorter than the hash length
+     * @throws IndexOutOfBoundsException if there are insufficient bytes for all values
+     */
+    public static int unhash(byte[] src, int offset, int stride, SubSecond handler,
+                             long[] dest, BitSet invalid) {
+        return unhash(src, offset, stride, handler, dest, invalid, COLUMN_DECODER);
+    }
+
+    /**
+     * @param src     the ASCII bytes containing the values to unhash
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @param decoder the {@link ColumnDecoder} to use
+     * @return the number of invalid values
+     * @see #unhash(byte[], int, int, SubSecond, long[], BitSet)
+     */
+    static int unhash(byte[] src, int offset, int stride, SubSecond handler,
+                      long[] dest, BitSet invalid, ColumnDecoder decoder) {
+        checkColumn(src.length, offset, stride, handler, dest.length);
+        return decoder.unhash(src, offset, stride, handler, dest, 0, dest.length, invalid);
+    }
+
+    /**
+     * Unhashes a column of fixed-length ASCII values like
+     * {@link #unhash(byte[], int, int, SubSecond, long[], BitSet)}, split across the
+     * {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param src     the ASCII bytes containing the values to unhash
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values, at least
+     *                {@link SubSecond#length()}
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to, or
+     *                {@link #INVALID} for invalid values
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @return the number of invalid values
+     * @throws IllegalArgumentException  if the stride is shorter than the hash length
+     * @throws IndexOutOfBoundsException if there are insufficient bytes for all values
+     * @see #parallelUnhash(byte[], int, int, SubSecond, long[], BitSet, ForkJoinPool)
+     */
+    public static int parallelUnhash(byte[] src, int offset, int stride, SubSecond handler,
+                                     long[] dest, BitSet invalid) {
+        return parallelUnhash(src, offset, stride, handler, dest, invalid,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Unhashes a column of fixed-length ASCII values like
+     * {@link #unhash(byte[], int, int, SubSecond, long[], BitSet)}, split across the pool in
+     * chunks of 8,192 values. Each chunk marks its invalid values in its own
+     * bitmap, which are only merged into the given bitmap after all tasks are done.
+     *
+     * @param src     the ASCII bytes containing the values to unhash
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values, at least
+     *                {@link SubSecond#length()}
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to, or
+     *                {@link #INVALID} for invalid values
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @param pool    the pool to run the tasks in
+     * @return the number of invalid values
+     * @throws IllegalArgumentException  if the stride is shorter than the hash length
+     * @throws IndexOutOfBoundsException if there are insufficient bytes for all values
+     */
+    public static int parallelUnhash(byte[] src, int offset, int stride, SubSecond handler,
+                                     long[] dest, BitSet invalid, ForkJoinPool pool) {
+        checkColumn(src.length, offset, stride, handler, dest.length);
+        BitSet flags = pool.invoke(new UnhashTask(src, offset, stride, handler, dest, 0,
+                dest.length));
+        for (int i = flags.nextSetBit(0); i >= 0; i = flags.nextSetBit(i + 1)) {
+            invalid.set(i);
+        }
+        return flags.cardinality();
+    }
+
+    /**
+     * Unhashes a range of a column with {@link #COLUMN_DECODER}, halving it until it fits in
+     * a chunk. The result is the bitmap of invalid values, relative to the start of the range.
+     */
+    private static final class UnhashTask extends RecursiveTask<BitSet> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] src;
+        private final int offset;
+        private final int stride;
+        private final SubSecond handler;
+        private final long[] dest;
+        private final int from;
+        private final int to;
+
+        /**
+         * @param src     the ASCII bytes containing the values to unhash
+         * @param offset  the offset of the first value of the range
+         * @param stride  the distance between the start of consecutive values
+         * @param handler the {@link SubSecond} value the values were hashed with
+         * @param dest    the array to write the epoch nanoseconds of each value to
+         * @param from    the start index, inclusive
+         * @param to      the end index, exclusive
+         */
+        private UnhashTask(byte[] src, int offset, int stride, SubSecond handler, long[] dest,
+                           int from, int to) {
+            this.src = src;
+            this.offset = offset;
+            this.stride = stride;
+            this.handler = handler;
+            this.dest = dest;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BitSet compute() {
+            if (to - from <= CHUNK_ROWS) {
+                BitSet result = new BitSet();
+                COLUMN_DECODER.unhash(src, offset, stride, handler, dest, from, to - from,
+                        result);
+                return result;
+            }
+            int middle = split(from, to);
+            UnhashTask first = new UnhashTask(src, offset, stride, handler, dest, from,
+                    middle);
+            UnhashTask second = new UnhashTask(src, offset + (middle - from) * stride, stride,
+                    handler, dest, middle, to);
+            second.fork();
+            BitSet result = first.compute();
+            BitSet flags = second.join();
+            for (int i = flags.nextSetBit(0); i >= 0; i = flags.nextSetBit(i + 1)) {
+                result.set(middle - from + i);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The scalar {@link ColumnDecoder}, with arguments already validated.
+     *
+     * @param src     the ASCII bytes containing the values to unhash
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to
+     * @param from    the index in the destination to write the first value to
+     * @param count   the number of values
+     * @param invalid the bitmap to set the indices of invalid values in, relative to the
+     *                first value
+     * @return the number of invalid values
+     */
+    private static int unhashColumn(byte[] src, int offset, int stride, SubSecond handler,
+                                    long[] dest, int from, int count, BitSet invalid) {
+        int result = 0;
+        for (int i = 0, position = offset; i < count; i++, position += stride) {
+            long value = decode(src, position, handler);
+            if (value < 0) {
+                value = INVALID;
+                invalid.set(i);
+                result++;
+            }
+            dest[from + i] = value;
+        }
+        return result;
+    }
+
+    /**
+     * @param size    the size of the source
+     * @param offset  the offset of the first value
+     * @param stride  the distance between the start of consecutive values
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param count   the number of values
+     * @throws IllegalArgumentException  if the stride is shorter than the hash length
+     * @throws IndexOutOfBoundsException if there are insufficient elements for all values
+     */
+    private static void checkColumn(int size, int offset, int stride, SubSecond handler,
+                                    int count) {
+        validate(stride >= handler.length(), "Stride is shorter than " + handler.length());
+        if (count > 0) {
+            long length = (long) (count - 1) * stride + handler.length();
+            checkRange(size, offset, (int) Math.min(length, Integer.MAX_VALUE));
+        }
+    }
+
+    /**
+     * @param epochNanos the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     * @return the equivalent UTC date-time
+     */
+    private static LocalDateTime fromEpochNanos(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Validates and decodes the value in a single pass over its characters.
+     *
+     * @param src     the characters containing the value to unhash, with at least
+     *                {@link #MIN_CHARS} characters from the offset
+     * @param offset  the offset of the value
+     * @param length  the length of the value
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or one of
+     * {@link #INVALID_HASH}, {@link #INVALID_SUB_SECOND} or {@link #INVALID_DATE_TIME}
+     */
+    private static long decode(CharSequence src, int offset, int length, SubSecond handler) {
+        return decode(parse(src.charAt(offset)),
+                parse(src.charAt(offset + 1)),
+                parse(src.charAt(offset + 2)),
+                parse(src, offset + 3, offset + MIN_CHARS),
+                length == handler.length() ? parse(src, offset + MIN_CHARS, offset + length) : -1,
+                handler);
+    }
+
+    /**
+     * @param src     the characters containing the value to unhash, with at least
+     *                {@link SubSecond#length()} characters from the offset
+     * @param offset  the offset of the value
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or a negative value
+     * @see #decode(CharSequence, int, int, SubSecond)
+     */
+    private static long decode(char[] src, int offset, SubSecond handler) {
+        return decode(parse(src[offset]),
+                parse(src[offset + 1]),
+                parse(src[offset + 2]),
+                parse(src, offset + 3, offset + MIN_CHARS),
+                parse(src, offset + MIN_CHARS, offset + handler.length()),
+                handler);
+    }
+
+    /**
+     * Decodes up to 12 ASCII bytes from two possibly overlapping little-endian words, so that
+     * all bytes are checked to be ASCII with a single mask per word. Each byte is then
+     * translated by {@link #digit(long, int)} without any further checks.
+     *
+     * @param src     the ASCII bytes containing the value to unhash, with at least
+     *                {@link SubSecond#length()} bytes from the offset
+     * @param offset  the offset of the value
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or a negative value
+     * @see #decode(CharSequence, int, int, SubSecond)
+     */
+    private static long decode(byte[] src, int offset, SubSecond handler) {
+        int length = handler.length();
+        long first = length < Long.BYTES ? word(src, offset, length) : word(src, offset);
+        // the sub-seconds bytes, from the last 2 bytes of the first word
+        long rest = first >>> (MIN_CHARS * Byte.SIZE);
+        if (length > Long.BYTES) {
+            // the last 8 bytes overlap the first word, which is shifted out
+            rest |= word(src, offset + length - Long.BYTES) >>> ((2 * Long.BYTES - length)
+                    * Byte.SIZE) << Short.SIZE;
+        }
+        if (((first | rest) & HIGH_BITS) != 0) {
+            return INVALID_HASH;
+        }
+        int yearOfEpoch = digit(first, 0);
+        int month = digit(first, 1);
+        int day = digit(first, 2);
+        int hour = digit(first, 3);
+        int minute = digit(first, 4);
+        int second = digit(first, 5);
+        int check = yearOfEpoch | month | day | hour | minute | second;
+        long subSecond = 0;
+        for (int i = MIN_CHARS; i < length; i++) {
+            int digit = digit(rest, i - MIN_CHARS);
+            check |= digit;
+            subSecond = subSecond * RADIX + digit;
+        }
+        if (check < 0) {
+            return INVALID_HASH;
+        }
+        return decode(yearOfEpoch, month, day, (hour * RADIX + minute) * RADIX + second,
+                (int) Math.min(subSecond, Integer.MAX_VALUE), handler);
+    }
+
+    /**
+     * @param src    the bytes
+     * @param offset the offset of the 8 bytes to read
+     * @return the little-endian word of the bytes
+     */
+    private static long word(byte[] src, int offset) {
+        return src[offset] & 0xFFL
+                | (src[offset + 1] & 0xFFL) << 8
+                | (src[offset + 2] & 0xFFL) << 16
+                | (src[offset + 3] & 0xFFL) << 24
+                | (src[offset + 4] & 0xFFL) << 32
+                | (src[offset + 5] & 0xFFL) << 40
+                | (src[offset + 6] & 0xFFL) << 48
+                | (src[offset + 7] & 0xFFL) << 56;
+    }
+
+    /**
+     * @param src    the bytes
+     * @param offset the offset of the bytes to read
+     * @param length the number of bytes to read, less than 8
+     * @return the little-endian word of the bytes
+     */
+    private static long word(byte[] src, int offset, int length) {
+        long result = 0;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            result = result << Byte.SIZE | src[i] & 0xFF;
+        }
+        return result;
+    }
+
+    /**
+     * @param word  the little-endian word of ASCII bytes
+     * @param index the index of the byte to parse
+     * @return the numeric representation of the hashed byte, or {@code -1} if it is not
+     * a valid digit
+     */
+    private static int digit(long word, int index) {
+        // masking to ASCII lets the lookup skip bounds checks
+        return DIGITS[(int) (word >>> (index * Byte.SIZE)) & Byte.MAX_VALUE];
+    }
+
+    /**
+     * @param yearOfEpoch the parsed year from {@link #YEAR_EPOCH}
+     * @param month       the parsed month of year
+     * @param day         the parsed day of month
+     * @param secondOfDay the parsed second of day
+     * @param subSecond   the parsed sub-seconds value
+     * @param handler     the {@link SubSecond} value to handle sub-seconds
+     * @return the epoch nanoseconds of the equivalent UTC date-time, or one of
+     * {@link #INVALID_HASH}, {@link #INVALID_SUB_SECOND} or {@link #INVALID_DATE_TIME}
+     */
+    private static long decode(int yearOfEpoch, int month, int day, int secondOfDay,
+                               int subSecond, SubSecond handler) {
+        if ((yearOfEpoch | month | day | secondOfDay) < 0) {
+            return INVALID_HASH;
+        }
+        if (subSecond < 0) {
+            return INVALID_SUB_SECOND;
+        }
+        int dayOfEpoch = dayOfEpoch(yearOfEpoch, month, day);
+        long nanoOfSecond = (long) handler.unit * subSecond;
+        if (dayOfEpoch < 0 || secondOfDay >= SECONDS_PER_DAY
+                || nanoOfSecond >= NANOS_PER_SECOND) {
+            return INVALID_DATE_TIME;
+        }
+        return (EPOCH_SECOND_MIN + (long) dayOfEpoch * SECONDS_PER_DAY + secondOfDay)
+                * NANOS_PER_SECOND + nanoOfSecond;
+    }
+
+    /**
+     * @param result  the result of {@link #decode(CharSequence, int, int, SubSecond)}
+     * @param src     the characters containing the value that was unhashed
+     * @param offset  the offset of the value
+     * @param length  the length of the value
+     * @param handler the {@link SubSecond} value to handle sub-seconds
+     * @return the result, if it is valid
+     * @throws IllegalArgumentException if the value does not pass validation
+     * @throws DateTimeException        if the hashed date-time is invalid
+     */
+    private static long checked(long result, CharSequence src, int offset, int length,
+                                SubSecond handler) {
+        validate(result != INVALID_HASH, MESSAGE);
+        validate(result != INVALID_SUB_SECOND, handler.message);
+        if (result == INVALID_DATE_TIME) {
+            // repeat with java.time and the precision's own field for its exception
+            LocalDateTime.of(YEAR_EPOCH + parse(src.charAt(offset)),
+                    parse(src.charAt(offset + 1)), parse(src.charAt(offset + 2)), 0, 0)
+                    .with(ChronoField.SECOND_OF_DAY, parse(src, offset + 3, offset + MIN_CHARS));
+            handler.check(parse(src, offset + MIN_CHARS, offset + length));
+        }
+        return result;
+    }
+
+    /**
+     * Validates a date and converts it to the number of days from {@link #YEAR_EPOCH}. Every
+     * year divisible by 4 is a leap year within the range of years, which keeps this simpler
+     * than {@link #toEpochDay(int, int, int)}.
+     *
+     * @param yearOfEpoch the year from {@link #YEAR_EPOCH}, from 0 to 47
+     * @param month       the month of year
+     * @param day         the day of month
+     * @return the number of days from the first day of {@link #YEAR_EPOCH}, or {@code -1} if
+     * the date is invalid
+     */
+    private static int dayOfEpoch(int yearOfEpoch, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) {
+            return -1;
+        }
+        int year = YEAR_EPOCH + yearOfEpoch;
+        boolean isLeapYear = year % 4 == 0;
+        Month value = Month.of(month);
+        if (day > value.length(isLeapYear)) {
+            return -1;
+        }
+        return yearOfEpoch * 365 + (year - 1) / 4 - (YEAR_EPOCH - 1) / 4
+                + value.firstDayOfYear(isLeapYear) + day - 2;
+    }
+
+    /**
+     * Converts a valid date to its epoch day using the proleptic Gregorian days-from-civil
+     * algorithm.
+     *
+     * @param year  the year
+     * @param month the month of year
+     * @param day   the day of month
+     * @return the number of days from 1970-01-01
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        int marchYear = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(marchYear, 400);
+        int yearOfEra = marchYear - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (long) era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * @param src    the characters containing the value to unhash
+     * @param offset the offset of the value
+     * @param length the length of the value
+     * @return the {@link SubSecond} value for the length of the value
+     * @throws IllegalArgumentException  if the length is invalid
+     * @throws IndexOutOfBoundsException if the slice is out of bounds
+     */
+    private static SubSecond handlerFor(CharSequence src, int offset, int length) {
+        validate(isValidLength(src, length), MESSAGE);
+        checkRange(src.length(), offset, length);
+        return SubSecond.VALUES[length - MIN_CHARS];
+    }
+
+    /**
+     * @param src    the characters containing the value to unhash
+     * @param length the length of the value
+     * @return {@code true} if there are characters and the length is of a valid hash
+     */
+    private static boolean isValidLength(CharSequence src, int length) {
+        return src != null && length >= MIN_CHARS
+                && length < MIN_CHARS + SubSecond.VALUES.length;
+    }
+
+    /**
+     * @param valid   the result of validation
+     * @param message the message to throw the {@link IllegalArgumentException} with
+     * @throws IllegalArgumentException if the validation failed
+     */
+    static void validate(boolean valid, String message) {
+        if (!valid) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    /**
+     * Accumulates the digits most significant first, i.e. using Horner's method, while
+     * tracking any invalid digit without branching.
+     *
+     * @param characters the hashed characters to parse
+     * @param start      the start index, inclusive
+     * @param end        the end index, exclusive
+     * @return the numeric representation from the hashed characters, capped at
+     * {@link Integer#MAX_VALUE}, or {@code -1} if any character is not a valid digit
+     */
+    private static int parse(CharSequence characters, int start, int end) {
+        long result = 0;
+        int invalid = 0;
+        for (int i = start; i < end; i++) {
+            int digit = parse(characters.charAt(i));
+            invalid |= digit;
+            result = result * RADIX + digit;
+        }
+        return invalid < 0 ? -1 : (int) Math.min(result, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param digit the digit to parse
+     * @return the numeric representation of the hashed digit, or {@code -1} if it is not
+     * a valid digit
+     */
+    private static int parse(char digit) {
+        return digit < DIGITS.length ? DIGITS[digit] : -1;
+    }
+
+    /**
+     * @param characters the hashed characters to parse
+     * @param start      the start index, inclusive
+     * @param end        the end index, exclusive
+     * @return the numeric representation from the hashed characters, capped at
+     * {@link Integer#MAX_VALUE}, or {@code -1} if any character is not a valid digit
+     * @see #parse(CharSequence, int, int)
+     */
+    private static int parse(char[] characters, int start, int end) {
+        long result = 0;
+        int invalid = 0;
+        for (int i = start; i < end; i++) {
+            int digit = parse(characters[i]);
+            invalid |= digit;
+            result = result * RADIX + digit;
+        }
+        return invalid < 0 ? -1 : (int) Math.min(result, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the reverse lookup table from an ASCII character to its digit value, with
+     * {@code -1} for characters outside of the alphabet
+     */
+    private static byte[] digits() {
+        byte[] result = new byte[128];
+        Arrays.fill(result, (byte) -1);
+        for (int i = 0; i < CHARS.length; i++) {
+            result[CHARS[i]] = (byte) i;
+        }
+        return result;
     }
 
     /**
      * @param length the required length
-     * @return a {@link Pattern} that matches for valid characters of the required length
+     * @return the pattern of valid characters of the required length, for validation messages
      */
-    private static Pattern asPattern(int length) {
-        return Pattern.compile(length == 0 ? "^$"
-                : String.format("[%s]{%d}+", String.valueOf(CHARS), length));
+    private static String asPattern(int length) {
+        return length == 0 ? "^$" : String.format("[%s]{%d}+", String.valueOf(CHARS), length);
     }
 
 }
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.ColumnDecoder;
+import com.ikueb.TimeHashUtils.SubSecond;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Unhashes columns of ASCII values using {@code jdk.incubator.vector}, which is only
+ * available from Java 16 when the module is added, e.g. with
+ * {@code --add-modules jdk.incubator.vector}. This class is loaded reflectively by
+ * {@link TimeHashUtils}, which falls back to scalar code when it cannot be loaded.
+ * <p>
+ * Each block of rows is first translated into digits a whole vector of bytes at a time,
+ * without any table lookups: the alphabet is {@code 4} to {@code 9}, followed by the
+ * consonants in upper case and then in lower case, so a letter's digit is its position in
+ * the alphabet, less the number of vowels before it. Blocks with any byte outside the
+ * alphabet are rare, and are left to {@link TimeHashUtils#SCALAR_DECODER}.
+ * <p>
+ * The digits are then gathered field by field into one lane per row, so that validating and
+ * combining them is the same branch-free arithmetic on every lane. The calendar is simpler
+ * within the range of years, as every year divisible by 4 is a leap year.
+ */
+final class VectorColumnDecoder implements ColumnDecoder {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final int PARTS = INTS.length() / LONGS.length();
+    private static final int RADIX = 48;
+    private static final int RADIX_CUBED = RADIX * RADIX * RADIX;
+    private static final int BLOCK_ROWS = 1 << 10;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int NANOS_PER_SECOND = 1_000_000_000;
+    private static final long EPOCH_SECOND_MIN =
+            LocalDate.of(TimeHashUtils.YEAR_EPOCH, 1, 1).toEpochDay() * SECONDS_PER_DAY;
+
+    @Override
+    public int unhash(byte[] src, int offset, int stride, SubSecond handler, long[] dest,
+                      int from, int count, BitSet invalid) {
+        int length = handler.length();
+        int rows = Math.min(count, BLOCK_ROWS);
+        int padded = (rows + INTS.length() - 1) / INTS.length() * INTS.length();
+        byte[] compacted = stride == length ? null : new byte[rows * length];
+        int[] digits = new int[padded * length];
+        int[] indexMap = new int[INTS.length()];
+        for (int i = 0; i < indexMap.length; i++) {
+            indexMap[i] = i * length;
+        }
+        int result = 0;
+        for (int block = 0; block < count; block += BLOCK_ROWS) {
+            int rowsInBlock = Math.min(BLOCK_ROWS, count - block);
+            int position = offset + block * stride;
+            boolean isValid;
+            if (compacted == null) {
+                isValid = translate(src, position, rowsInBlock * length, digits);
+            } else {
+                for (int i = 0; i < rowsInBlock; i++) {
+                    System.arraycopy(src, position + i * stride, compacted, i * length,
+                            length);
+                }
+                isValid = translate(compacted, 0, rowsInBlock * length, digits);
+            }
+            if (isValid) {
+                Arrays.fill(digits, rowsInBlock * length, digits.length, 0);
+                result += decode(digits, indexMap, rowsInBlock, handler, dest, from + block,
+                        block, invalid);
+            } else {
+                result += unhashScalar(src, position, stride, handler, dest, from + block,
+                        block, rowsInBlock, invalid);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param src    the ASCII bytes to translate
+     * @param offset the offset to start translating from
+     * @param count  the number of bytes to translate
+     * @param dest   the array to write the digits to
+     * @return {@code true} if all bytes are in the alphabet
+     */
+    private static boolean translate(byte[] src, int offset, int count, int[] dest) {
+        VectorMask<Byte> isInvalid = BYTES.maskAll(false);
+        int i = 0;
+        for (int bound = BYTES.loopBound(count); i < bound; i += BYTES.length()) {
+            ByteVector digits = translate(ByteVector.fromArray(BYTES, src, offset + i));
+            isInvalid = isInvalid.or(digits.compare(VectorOperators.LT, (byte) 0));
+            for (int part = 0; part < BYTES.length() / INTS.length(); part++) {
+                ((IntVector) digits.convertShape(VectorOperators.B2I, INTS, part))
+                        .intoArray(dest, i + part * INTS.length());
+            }
+        }
+        if (i < count) {
+            VectorMask<Byte> inRange = BYTES.indexInRange(i, count);
+            ByteVector digits = translate(ByteVector.fromArray(BYTES, src, offset + i,
+                    inRange));
+            isInvalid = isInvalid.or(digits.compare(VectorOperators.LT, (byte) 0, inRange));
+            for (int part = 0, start = i; start < count; part++, start += INTS.length()) {
+                ((IntVector) digits.convertShape(VectorOperators.B2I, INTS, part))
+                        .intoArray(dest, start, INTS.indexInRange(start, count));
+            }
+        }
+        return !isInvalid.anyTrue();
+    }
+
+    /**
+     * @param bytes the ASCII bytes to translate
+     * @return the digits, or {@code -1} for bytes outside the alphabet
+     */
+    private static ByteVector translate(ByteVector bytes) {
+        VectorMask<Byte> isNumber = bytes.compare(VectorOperators.GE, (byte) '4')
+                .and(bytes.compare(VectorOperators.LE, (byte) '9'));
+        // position from 'a' for either case, while other bytes are kept outside [0, 26)
+        ByteVector letter = bytes.or((byte) 0x20).sub((byte) 'a');
+        VectorMask<Byte> isConsonant = letter.compare(VectorOperators.GE, (byte) 0)
+                .and(letter.compare(VectorOperators.LT, (byte) 26))
+                .andNot(letter.compare(VectorOperators.EQ, (byte) 0))
+                .andNot(letter.compare(VectorOperators.EQ, (byte) ('e' - 'a')))
+                .andNot(letter.compare(VectorOperators.EQ, (byte) ('i' - 'a')))
+                .andNot(letter.compare(VectorOperators.EQ, (byte) ('o' - 'a')))
+                .andNot(letter.compare(VectorOperators.EQ, (byte) ('u' - 'a')));
+        ByteVector consonant = letter.add((byte) 5)
+                .add((byte) 21, bytes.compare(VectorOperators.GE, (byte) 'a'))
+                .sub((byte) 1, letter.compare(VectorOperators.GT, (byte) ('e' - 'a')))
+                .sub((byte) 1, letter.compare(VectorOperators.GT, (byte) ('i' - 'a')))
+                .sub((byte) 1, letter.compare(VectorOperators.GT, (byte) ('o' - 'a')))
+                .sub((byte) 1, letter.compare(VectorOperators.GT, (byte) ('u' - 'a')));
+        return ByteVector.broadcast(BYTES, (byte) -1)
+                .blend(bytes.sub((byte) '4'), isNumber)
+                .blend(consonant, isConsonant);
+    }
+
+    /**
+     * @param digits   the translated digits of the rows, one single digit per element
+     * @param indexMap the offsets of each lane's row from the first row of a vector
+     * @param count    the number of rows
+     * @param handler  the {@link SubSecond} value the values were hashed with
+     * @param dest     the array to write the epoch nanoseconds of each value, or
+     *                 {@link TimeHashUtils#INVALID}, to
+     * @param offset   the index of the first row in the destination
+     * @param index    the index of the first row in the bitmap
+     * @param invalid  the bitmap to set the indices of invalid values in
+     * @return the number of invalid values
+     */
+    private static int decode(int[] digits, int[] indexMap, int count, SubSecond handler,
+                              long[] dest, int offset, int index, BitSet invalid) {
+        int length = handler.length();
+        int unit = handler.unit();
+        int steps = NANOS_PER_SECOND / unit;
+        // sub-seconds of more than 3 digits are split before the last 3 digits
+        int highLength = Math.max(length - 9, 0);
+        int result = 0;
+        for (int row = 0; row < count; row += INTS.length()) {
+            int base = row * length;
+            IntVector yearOfEpoch = gather(digits, base, 1, indexMap);
+            IntVector month = gather(digits, base + 1, 1, indexMap);
+            IntVector day = gather(digits, base + 2, 1, indexMap);
+            IntVector secondOfDay = gather(digits, base + 3, 3, indexMap);
+            // every year within range is a leap year when divisible by 4
+            VectorMask<Integer> isLeapYear = yearOfEpoch.add(TimeHashUtils.YEAR_EPOCH % 4)
+                    .and(3).compare(VectorOperators.EQ, 0);
+            VectorMask<Integer> isFebruary = month.compare(VectorOperators.EQ, 2);
+            VectorMask<Integer> isAfterFebruary = month.compare(VectorOperators.GT, 2);
+            // 30 or 31 days alternating from January, and swapping after July
+            IntVector monthLength = month.add(month.lanewise(VectorOperators.LSHR, 3)).and(1)
+                    .add(30)
+                    .blend(IntVector.broadcast(INTS, 28).add(1, isLeapYear), isFebruary);
+            VectorMask<Integer> valid = month.compare(VectorOperators.GE, 1)
+                    .and(month.compare(VectorOperators.LE, 12))
+                    .and(day.compare(VectorOperators.GE, 1))
+                    .and(day.compare(VectorOperators.LE, monthLength))
+                    .and(secondOfDay.compare(VectorOperators.LT, SECONDS_PER_DAY));
+            // days before the month from March, with x / 5 == (x * 52429) >>> 18 for small x
+            IntVector daysBeforeMonth = month.sub(3).mul(153).add(2).mul(52_429)
+                    .lanewise(VectorOperators.LSHR, 18).add(31 + 28)
+                    .blend(month.sub(1).mul(31), isAfterFebruary.not())
+                    .add(1, isAfterFebruary.and(isLeapYear));
+            // leap years from the epoch are 2 years in, then every 4 years
+            IntVector epochDay = yearOfEpoch.mul(365)
+                    .add(yearOfEpoch.add(1).lanewise(VectorOperators.LSHR, 2))
+                    .add(daysBeforeMonth).add(day).sub(1);
+            IntVector subSecond = gather(digits, base + 6 + highLength, length - 6 - highLength,
+                    indexMap);
+            if (highLength == 0) {
+                valid = valid.and(subSecond.compare(VectorOperators.LT, steps));
+            } else {
+                IntVector high = gather(digits, base + 6, highLength, indexMap);
+                int limit = steps / RADIX_CUBED;
+                valid = valid.and(high.compare(VectorOperators.LT, limit)
+                        .or(high.compare(VectorOperators.EQ, limit).and(subSecond.compare(
+                                VectorOperators.LT, steps % RADIX_CUBED))));
+                subSecond = high.mul(RADIX_CUBED).add(subSecond);
+            }
+            IntVector seconds = epochDay.mul(SECONDS_PER_DAY).add(secondOfDay);
+            IntVector nanos = subSecond.mul(unit);
+            VectorMask<Integer> inRange = INTS.indexInRange(row, count);
+            if (!valid.or(inRange.not()).allTrue()) {
+                long bits = valid.not().and(inRange).toLong();
+                result += Long.bitCount(bits);
+                for (; bits != 0; bits &= bits - 1) {
+                    invalid.set(index + row + Long.numberOfTrailingZeros(bits));
+                }
+                seconds = seconds.blend(-1, valid.not());
+            }
+            for (int part = 0; part < PARTS; part++) {
+                int start = row + part * LONGS.length();
+                LongVector value = ((LongVector) seconds.convertShape(VectorOperators.I2L,
+                        LONGS, part));
+                VectorMask<Long> isInvalid = value.compare(VectorOperators.LT, 0);
+                value = value.add(EPOCH_SECOND_MIN).mul(NANOS_PER_SECOND)
+                        .add((LongVector) nanos.convertShape(VectorOperators.I2L, LONGS, part))
+                        .blend(TimeHashUtils.INVALID, isInvalid);
+                if (start + LONGS.length() <= count) {
+                    value.intoArray(dest, offset + start);
+                } else if (start < count) {
+                    value.intoArray(dest, offset + start, LONGS.indexInRange(start, count));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param digits   the translated digits
+     * @param offset   the offset of the field in the first row
+     * @param length   the number of digits in the field, up to 3
+     * @param indexMap the offsets of each lane's row from the first row
+     * @return the field from each row
+     */
+    private static IntVector gather(int[] digits, int offset, int length, int[] indexMap) {
+        IntVector result = IntVector.zero(INTS);
+        for (int i = 0; i < length; i++) {
+            result = result.mul(RADIX)
+                    .add(IntVector.fromArray(INTS, digits, offset + i, indexMap, 0));
+        }
+        return result;
+    }
+
+    /**
+     * Unhashes a block of rows with {@link TimeHashUtils#SCALAR_DECODER}.
+     *
+     * @param src     the ASCII bytes containing the values to unhash
+     * @param offset  the offset of the first value of the block
+     * @param stride  the distance between the start of consecutive values
+     * @param handler the {@link SubSecond} value the values were hashed with
+     * @param dest    the array to write the epoch nanoseconds of each value to
+     * @param from    the index of the first row of the block in the destination
+     * @param index   the index of the first row of the block in the bitmap
+     * @param count   the number of rows in the block
+     * @param invalid the bitmap to set the indices of invalid values in
+     * @return the number of invalid values
+     */
+    private static int unhashScalar(byte[] src, int offset, int stride, SubSecond handler,
+                                    long[] dest, int from, int index, int count,
+                                    BitSet invalid) {
+        BitSet flags = new BitSet(count);
+        int result = TimeHashUtils.SCALAR_DECODER.unhash(src, offset, stride, handler, dest,
+                from, count, flags);
+        for (int i = flags.nextSetBit(0); i >= 0; i = flags.nextSetBit(i + 1)) {
+            invalid.set(index + i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class MonotonicTimeHashGeneratorTest {
+
+    private static final Instant START = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_012_345)
+            .toInstant(ZoneOffset.UTC);
+
+    @DataProvider(name = "precisions")
+    public Iterator<Object[]> getPrecisions() {
+        return EnumSet.allOf(SubSecond.class).stream()
+                .map(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testStalledClock(SubSecond handler) {
+        MonotonicTimeHashGenerator generator = new MonotonicTimeHashGenerator(
+                Clock.fixed(START, ZoneOffset.UTC), handler);
+        assertThat(generator.precision(), equalTo(handler));
+        String first = generator.next();
+        assertThat(first, equalTo(TimeHashUtils.hash(Clock.fixed(START, ZoneOffset.UTC),
+                handler)));
+        long epochNanos = TimeHashUtils.unhashToEpochNanos(first);
+        for (int i = 1; i <= 100; i++) {
+            long expected = epochNanos + i * (long) handler.unit();
+            assertThat(generator.nextEpochNanos(), equalTo(expected));
+        }
+        String next = generator.next();
+        assertThat(next, greaterThan(first));
+        assertThat(TimeHashUtils.unhashToEpochNanos(next),
+                equalTo(epochNanos + 101 * (long) handler.unit()));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testReserve(SubSecond handler) {
+        MonotonicTimeHashGenerator generator = new MonotonicTimeHashGenerator(
+                Clock.fixed(START, ZoneOffset.UTC), handler);
+        String before = generator.next();
+        MonotonicTimeHashGenerator.Block block = generator.reserve(1_000);
+        String after = generator.next();
+        long epochNanos = TimeHashUtils.unhashToEpochNanos(before);
+        String previous = before;
+        for (int i = 1; i <= 1_000; i++) {
+            assertThat(block.remaining(), equalTo(1_001 - i));
+            assertThat(block.hasNext(), equalTo(true));
+            String hash = i % 2 == 0 ? block.next() : hashOf(block.nextEpochNanos(), handler);
+            assertThat(TimeHashUtils.unhashToEpochNanos(hash),
+                    equalTo(epochNanos + i * (long) handler.unit()));
+            assertThat(hash, greaterThan(previous));
+            previous = hash;
+        }
+        assertThat(block.hasNext(), equalTo(false));
+        assertThat(after, greaterThan(previous));
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void exhaustedBlockThrows() {
+        MonotonicTimeHashGenerator.Block block =
+                new MonotonicTimeHashGenerator(SubSecond.MILLIS).reserve(1);
+        block.next();
+        block.next();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid count: 0$")
+    public void invalidCountThrows() {
+        new MonotonicTimeHashGenerator(SubSecond.MILLIS).reserve(0);
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testZonedClock(SubSecond handler) {
+        Clock clock = Clock.fixed(START, ZoneId.of("Asia/Singapore"));
+        MonotonicTimeHashGenerator generator = new MonotonicTimeHashGenerator(clock, handler);
+        String expected = TimeHashUtils.hash(clock, handler);
+        assertThat(generator.next(), equalTo(expected));
+        assertThat(generator.reserve(1).nextEpochNanos(),
+                equalTo(TimeHashUtils.unhashToEpochNanos(expected) + handler.unit()));
+        Clock nanoClock = new NanoClock().withZone(clock.getZone());
+        String before = TimeHashUtils.hash(nanoClock, handler);
+        String actual = new MonotonicTimeHashGenerator(nanoClock, handler).next();
+        assertThat(actual, greaterThanOrEqualTo(before));
+        assertThat(actual, lessThanOrEqualTo(TimeHashUtils.hash(nanoClock, handler)));
+    }
+
+    @Test
+    public void testClockGoingBackwards() {
+        Instant[] now = {START};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        MonotonicTimeHashGenerator generator =
+                new MonotonicTimeHashGenerator(clock, SubSecond.MILLIS);
+        String first = generator.next();
+        now[0] = START.minusSeconds(60);
+        String second = generator.next();
+        assertThat(second, greaterThan(first));
+        now[0] = START.plusSeconds(60);
+        assertThat(generator.next(), equalTo(TimeHashUtils.hash(clock, SubSecond.MILLIS)));
+    }
+
+    @Test
+    public void testConcurrentReservations() throws Exception {
+        MonotonicTimeHashGenerator generator = new MonotonicTimeHashGenerator(
+                Clock.systemUTC(), SubSecond.NANOGROUP);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    List<String> result = new ArrayList<>();
+                    for (int j = 0; j < 100; j++) {
+                        generator.reserve(j + 1).forEachRemaining(result::add);
+                    }
+                    return result;
+                }));
+            }
+            Set<String> all = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                all.addAll(future.get());
+            }
+            assertThat(all.size(), equalTo(threads * 5_050));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentUniqueness() throws Exception {
+        MonotonicTimeHashGenerator generator = new MonotonicTimeHashGenerator(
+                Clock.systemUTC(), SubSecond.NANOGROUP);
+        int threads = 4;
+        int count = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    List<String> result = new ArrayList<>(count);
+                    for (int j = 0; j < count; j++) {
+                        result.add(generator.next());
+                    }
+                    return result;
+                }));
+            }
+            Set<String> all = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                List<String> hashes = future.get();
+                for (int i = 1; i < hashes.size(); i++) {
+                    assertThat(hashes.get(i), greaterThan(hashes.get(i - 1)));
+                }
+                all.addAll(hashes);
+            }
+            assertThat(all.size(), equalTo(threads * count));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * @param epochNanos the number of nanoseconds from the epoch of 1970-01-01T00:00:00Z
+     * @param handler    the {@link SubSecond} value to handle sub-seconds
+     * @return the hash of the epoch nanoseconds
+     */
+    private static String hashOf(long epochNanos, SubSecond handler) {
+        return TimeHashUtils.hashEpochSecond(epochNanos / 1_000_000_000L,
+                (int) (epochNanos % 1_000_000_000L), handler);
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.*;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class NanoClockTest {
+
+    private static final Instant START = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_000_000)
+            .toInstant(ZoneOffset.UTC);
+    private static final long START_NANOS = TimeUnit.SECONDS.toNanos(START.getEpochSecond())
+            + START.getNano();
+    private static final Duration PERIOD = Duration.ofSeconds(1);
+
+    /**
+     * A wall clock that only moves when told to.
+     */
+    private static final class ManualClock extends Clock {
+
+        private final ZoneId zone;
+        private Instant instant = START;
+        private Runnable onRead = () -> {
+        };
+
+        private ManualClock() {
+            this(ZoneOffset.UTC);
+        }
+
+        private ManualClock(ZoneId zone) {
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            onRead.run();
+            return instant;
+        }
+    }
+
+    @DataProvider(name = "precisions")
+    public Iterator<Object[]> getPrecisions() {
+        return EnumSet.allOf(SubSecond.class).stream()
+                .map(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testHash(SubSecond handler) {
+        AtomicLong nanoTime = new AtomicLong(-5_000);
+        NanoClock clock = new NanoClock(new ManualClock(), PERIOD, nanoTime::get);
+        nanoTime.addAndGet(12_345);
+        Instant expected = START.plusNanos(12_345);
+        assertThat(clock.hash(handler),
+                equalTo(TimeHashUtils.hash(Clock.fixed(expected, ZoneOffset.UTC), handler)));
+        assertThat(TimeHashUtils.hash(clock, handler), equalTo(clock.hash(handler)));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testZonedHash(SubSecond handler) {
+        ZoneId zone = ZoneId.of("Asia/Singapore");
+        AtomicLong nanoTime = new AtomicLong();
+        NanoClock clock = new NanoClock(new ManualClock(zone), PERIOD, nanoTime::get);
+        nanoTime.set(12_345);
+        String expected = TimeHashUtils.hash(Clock.fixed(START.plusNanos(12_345), zone),
+                handler);
+        assertThat(clock.hash(handler), equalTo(expected));
+        assertThat(TimeHashUtils.hash(clock, handler), equalTo(expected));
+    }
+
+    @Test
+    public void testOffsets() {
+        AtomicLong nanoTime = new AtomicLong(Long.MAX_VALUE - 100);
+        ManualClock wall = new ManualClock();
+        NanoClock clock = new NanoClock(wall, PERIOD, nanoTime::get);
+        assertThat(clock.epochNanos(), equalTo(START_NANOS));
+        nanoTime.addAndGet(1_001);
+        wall.instant = START.plusMillis(500);
+        assertThat(clock.epochNanos(), equalTo(START_NANOS + 1_001));
+        assertThat(clock.instant(), equalTo(START.plusNanos(1_001)));
+        assertThat(clock.millis(), equalTo(START.toEpochMilli()));
+        assertThat(clock.getZone(), equalTo(ZoneOffset.UTC));
+    }
+
+    @Test
+    public void testResync() {
+        AtomicLong nanoTime = new AtomicLong();
+        ManualClock wall = new ManualClock();
+        NanoClock clock = new NanoClock(wall, PERIOD, nanoTime::get);
+        long periodNanos = PERIOD.toNanos();
+        // wall clock ahead after a period: re-synced forwards
+        nanoTime.set(periodNanos);
+        wall.instant = START.plus(PERIOD).plusMillis(5);
+        long synced = START_NANOS + periodNanos + TimeUnit.MILLISECONDS.toNanos(5);
+        assertThat(clock.epochNanos(), equalTo(synced));
+        nanoTime.addAndGet(7);
+        assertThat(clock.epochNanos(), equalTo(synced + 7));
+        // wall clock slightly behind, within its resolution: not re-synced backwards
+        nanoTime.set(2 * periodNanos);
+        wall.instant = wall.instant.plus(PERIOD).minusNanos(999_999);
+        assertThat(clock.epochNanos(), equalTo(synced + periodNanos));
+        // wall clock stepping back: re-synced backwards
+        nanoTime.set(3 * periodNanos);
+        wall.instant = START;
+        assertThat(clock.epochNanos(), equalTo(START_NANOS));
+    }
+
+    @Test
+    public void testLostResync() {
+        AtomicLong nanoTime = new AtomicLong();
+        ManualClock wall = new ManualClock();
+        NanoClock clock = new NanoClock(wall, PERIOD, nanoTime::get);
+        long periodNanos = PERIOD.toNanos();
+        nanoTime.set(periodNanos);
+        wall.instant = START.plus(PERIOD).minusNanos(500_000);
+        long[] winner = new long[1];
+        // another thread re-syncs while this one reads the wall clock
+        wall.onRead = () -> {
+            wall.onRead = () -> {
+            };
+            nanoTime.addAndGet(100);
+            winner[0] = clock.epochNanos();
+        };
+        long loser = clock.epochNanos();
+        assertThat(winner[0], equalTo(START_NANOS + periodNanos + 100));
+        assertThat(loser, greaterThanOrEqualTo(winner[0]));
+    }
+
+    @Test
+    public void testEquality() {
+        ManualClock wall = new ManualClock();
+        NanoClock clock = new NanoClock(wall, PERIOD);
+        assertThat(clock, equalTo(new NanoClock(wall, PERIOD)));
+        assertThat(clock.hashCode(), equalTo(new NanoClock(wall, PERIOD).hashCode()));
+        assertThat(clock, not(equalTo(new NanoClock(wall, PERIOD.multipliedBy(2)))));
+        assertThat(clock, not(equalTo(new NanoClock(new ManualClock(), PERIOD))));
+        assertThat(new NanoClock(), equalTo(new NanoClock()));
+    }
+
+    @DataProvider(name = "drifts")
+    public Iterator<Object[]> getDrifts() {
+        return LongStream.of(-900, -200, 200, 900).mapToObj(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "drifts")
+    public void testDrift(long ppm) {
+        AtomicLong nanoTime = new AtomicLong();
+        ManualClock wall = new ManualClock();
+        NanoClock clock = new NanoClock(wall, PERIOD, nanoTime::get);
+        long step = 100_000;
+        long bound = 2 * Math.abs(ppm) * PERIOD.toNanos() / 1_000_000 + step;
+        long previous = clock.epochNanos();
+        for (long elapsed = step; elapsed <= 20 * PERIOD.toNanos(); elapsed += step) {
+            wall.instant = START.plusNanos(elapsed);
+            nanoTime.set(elapsed + elapsed * ppm / 1_000_000);
+            long current = clock.epochNanos();
+            assertThat(current, greaterThanOrEqualTo(previous));
+            assertThat(Math.abs(current - START_NANOS - elapsed), lessThanOrEqualTo(bound));
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testWithZone() {
+        NanoClock clock = new NanoClock();
+        assertThat(clock.withZone(ZoneOffset.UTC), sameInstance(clock));
+        Clock zoned = clock.withZone(ZoneId.of("Asia/Singapore"));
+        assertThat(zoned, instanceOf(NanoClock.class));
+        assertThat(zoned.getZone(), equalTo(ZoneId.of("Asia/Singapore")));
+    }
+
+    @Test
+    public void testSystemClock() {
+        NanoClock clock = new NanoClock();
+        long before = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        long previous = clock.epochNanos();
+        for (int i = 0; i < 10_000; i++) {
+            long current = clock.epochNanos();
+            assertThat(current, greaterThanOrEqualTo(previous));
+            previous = current;
+        }
+        long after = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis() + 1);
+        assertThat(previous, allOf(greaterThanOrEqualTo(before - NanoClock.TOLERANCE.toNanos()),
+                lessThanOrEqualTo(after + NanoClock.TOLERANCE.toNanos())));
+    }
+
+    @Test
+    public void testMonotonicGenerator() {
+        AtomicLong nanoTime = new AtomicLong();
+        NanoClock clock = new NanoClock(new ManualClock(), PERIOD, nanoTime::get);
+        MonotonicTimeHashGenerator generator =
+                new MonotonicTimeHashGenerator(clock, SubSecond.NANOS);
+        nanoTime.set(123);
+        assertThat(generator.nextEpochNanos(), equalTo(START_NANOS + 123));
+        assertThat(generator.nextEpochNanos(), equalTo(START_NANOS + 124));
+        nanoTime.set(1_000);
+        assertThat(generator.nextEpochNanos(), equalTo(START_NANOS + 1_000));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid period: PT0S$")
+    public void invalidPeriodThrows() {
+        new NanoClock(Clock.systemUTC(), Duration.ZERO);
+    }
+
+}
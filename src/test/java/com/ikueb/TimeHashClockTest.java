@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TimeHashClockTest {
+
+    private static final long START = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_000_000)
+            .toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    /**
+     * A clock that only moves when told to.
+     */
+    private static final class ManualClock extends Clock {
+
+        private final ZoneId zone;
+        private volatile long millis;
+        private volatile Runnable onRead = () -> {
+        };
+
+        private ManualClock(long millis) {
+            this(millis, ZoneOffset.UTC);
+        }
+
+        private ManualClock(long millis, ZoneId zone) {
+            this.millis = millis;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            onRead.run();
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @DataProvider(name = "precisions")
+    public Iterator<Object[]> getPrecisions() {
+        return Stream.of(SubSecond.TRIM, SubSecond.MILLIGROUP, SubSecond.MILLIS)
+                .map(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testTicks(SubSecond handler) throws InterruptedException {
+        ManualClock clock = new ManualClock(START);
+        try (TimeHashClock timeHashClock = new TimeHashClock(clock, handler)) {
+            assertThat(timeHashClock.precision(), equalTo(handler));
+            assertThat(timeHashClock.now(),
+                    equalTo(TimeHashUtils.hashEpochMilli(START, handler)));
+            clock.millis = START + TimeUnit.DAYS.toMillis(1);
+            String expected = TimeHashUtils.hashEpochMilli(clock.millis, handler);
+            assertThat(awaitHash(timeHashClock, expected::equals), equalTo(expected));
+        }
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testZonedTicks(SubSecond handler) throws InterruptedException {
+        ManualClock clock = new ManualClock(START, ZoneId.of("Asia/Singapore"));
+        try (TimeHashClock timeHashClock = new TimeHashClock(clock, handler)) {
+            assertThat(timeHashClock.now(), equalTo(TimeHashUtils.hash(clock, handler)));
+            clock.millis = START + TimeUnit.DAYS.toMillis(1);
+            String expected = TimeHashUtils.hash(clock, handler);
+            assertThat(awaitHash(timeHashClock, expected::equals), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        ManualClock clock = new ManualClock(START);
+        TimeHashClock timeHashClock = new TimeHashClock(clock, SubSecond.MILLIS);
+        timeHashClock.close();
+        String hash = timeHashClock.now();
+        clock.millis = START + 1;
+        Thread.sleep(20);
+        assertThat(timeHashClock.now(), sameInstance(hash));
+    }
+
+    @Test
+    public void testCloseFromTicker() throws InterruptedException {
+        ManualClock clock = new ManualClock(START);
+        TimeHashClock timeHashClock = new TimeHashClock(clock, SubSecond.MILLIS);
+        CountDownLatch closed = new CountDownLatch(1);
+        clock.onRead = () -> {
+            if (Thread.currentThread().getName().startsWith("TimeHashClock-")) {
+                timeHashClock.close();
+                closed.countDown();
+            }
+        };
+        assertThat(closed.await(5, TimeUnit.SECONDS), equalTo(true));
+    }
+
+    @Test
+    public void testSystemClock() throws InterruptedException {
+        try (TimeHashClock timeHashClock = new TimeHashClock(SubSecond.MILLIS)) {
+            String after = TimeHashUtils.utcNowMillis();
+            assertThat(awaitHash(timeHashClock, v -> v.compareTo(after) >= 0),
+                    greaterThanOrEqualTo(after));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Precision is finer than milliseconds: NANOS$")
+    public void finePrecisionThrows() {
+        new TimeHashClock(SubSecond.NANOS);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidYearThrows() {
+        new TimeHashClock(new ManualClock(0), SubSecond.MILLIS);
+    }
+
+    /**
+     * @param timeHashClock the clock to read from
+     * @param condition     the condition of the hash to wait for
+     * @return the last hash read, after up to 5 seconds
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static String awaitHash(TimeHashClock timeHashClock, Predicate<String> condition)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String result = timeHashClock.now();
+        while (!condition.test(result) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+            result = timeHashClock.now();
+        }
+        return result;
+    }
+
+}
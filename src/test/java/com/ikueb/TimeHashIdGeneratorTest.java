@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TimeHashIdGeneratorTest {
+
+    private static final Instant START = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_012_345)
+            .toInstant(ZoneOffset.UTC);
+    private static final Clock CLOCK = Clock.fixed(START, ZoneOffset.UTC);
+
+    @DataProvider(name = "precisions")
+    public Iterator<Object[]> getPrecisions() {
+        return EnumSet.allOf(SubSecond.class).stream()
+                .map(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testLayout(SubSecond handler) {
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(CLOCK, handler, 77, 2, 1, 1);
+        assertThat(generator.precision(), equalTo(handler));
+        assertThat(generator.length(), equalTo(handler.length() + 4));
+        String hash = TimeHashUtils.hash(CLOCK, handler);
+        assertThat(generator.next(), equalTo(hash + "5d44"));
+        assertThat(generator.next(), equalTo(hash + "5d45"));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testDefaults(SubSecond handler) {
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(handler, 2_303);
+        String before = TimeHashUtils.hash(Clock.systemUTC(), handler);
+        String first = generator.next();
+        String second = generator.next();
+        assertThat(first.length(), equalTo(handler.length() + 6));
+        assertThat(first.substring(0, handler.length()), greaterThanOrEqualTo(before));
+        assertThat(first.substring(handler.length(), handler.length() + 2), equalTo("zz"));
+        assertThat(second, greaterThan(first));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testMaxSequenceLength(SubSecond handler) {
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(CLOCK, handler, 0, 5, 48, 5);
+        String hash = TimeHashUtils.hash(CLOCK, handler);
+        assertThat(generator.next(), startsWith(hash + "44444"));
+        TimeHashIdGenerator.Block block = generator.reserve(254_803_967);
+        assertThat(block.next(), endsWith("44445"));
+        String next = TimeHashUtils.hash(Clock.offset(CLOCK,
+                Duration.ofNanos(handler.unit())), handler);
+        assertThat(generator.next(), startsWith(next + "44444"));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testZonedClock(SubSecond handler) {
+        Clock clock = Clock.fixed(START, ZoneId.of("Asia/Singapore"));
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(clock, handler, 77, 2, 1, 1);
+        assertThat(generator.next(), equalTo(TimeHashUtils.hash(clock, handler) + "5d44"));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testSequenceOverflow(SubSecond handler) {
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(CLOCK, handler, 0, 1, 1, 1);
+        String hash = TimeHashUtils.hash(CLOCK, handler);
+        String previous = "";
+        for (int i = 0; i < 48; i++) {
+            String id = generator.next();
+            assertThat(id, startsWith(hash));
+            assertThat(id, greaterThan(previous));
+            previous = id;
+        }
+        String next = TimeHashUtils.hash(Clock.offset(CLOCK,
+                Duration.ofNanos(handler.unit())), handler);
+        assertThat(generator.next(), equalTo(next + "444"));
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testReserve(SubSecond handler) {
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(CLOCK, handler, 5, 1, 1, 1);
+        String before = generator.next();
+        TimeHashIdGenerator.Block block = generator.reserve(100);
+        String after = generator.next();
+        String hash = TimeHashUtils.hash(CLOCK, handler);
+        String next = TimeHashUtils.hash(Clock.offset(CLOCK,
+                Duration.ofNanos(handler.unit())), handler);
+        String third = TimeHashUtils.hash(Clock.offset(CLOCK,
+                Duration.ofNanos(2L * handler.unit())), handler);
+        assertThat(before, equalTo(hash + "944"));
+        String previous = before;
+        for (int i = 1; i <= 100; i++) {
+            assertThat(block.remaining(), equalTo(101 - i));
+            String id = block.next();
+            assertThat(id, greaterThan(previous));
+            assertThat(id, startsWith(i < 48 ? hash : i < 96 ? next : third));
+            previous = id;
+        }
+        assertThat(block.hasNext(), equalTo(false));
+        assertThat(previous, equalTo(third + "948"));
+        assertThat(after, equalTo(third + "949"));
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void exhaustedBlockThrows() {
+        TimeHashIdGenerator.Block block = new TimeHashIdGenerator(SubSecond.MILLIS, 0)
+                .reserve(1);
+        block.next();
+        block.next();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid count: -1$")
+    public void invalidCountThrows() {
+        new TimeHashIdGenerator(SubSecond.MILLIS, 0).reserve(-1);
+    }
+
+    @Test
+    public void testConcurrentUniqueness() throws Exception {
+        TimeHashIdGenerator generator = new TimeHashIdGenerator(SubSecond.MILLIS, 1);
+        int threads = 4;
+        int count = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    List<String> result = new ArrayList<>(count);
+                    for (int j = 0; j < count; j++) {
+                        result.add(generator.next());
+                    }
+                    return result;
+                }));
+            }
+            Set<String> all = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                List<String> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertThat(ids.get(i), greaterThan(ids.get(i - 1)));
+                }
+                all.addAll(ids);
+            }
+            assertThat(all.size(), equalTo(threads * count));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @DataProvider(name = "invalid-arguments")
+    public Iterator<Object[]> getInvalidArguments() {
+        return Stream.of(new Object[]{SubSecond.MILLIS, 48, 1, 1, 1, "Invalid node: 48"},
+                new Object[]{SubSecond.MILLIS, 0, 0, 1, 1, "Invalid node length: 0"},
+                new Object[]{SubSecond.MILLIS, 0, 1, 49, 1, "Invalid stripes: 49"},
+                new Object[]{SubSecond.MILLIS, 0, 1, 1, 6, "Invalid sequence length: 6"})
+                .iterator();
+    }
+
+    @Test(dataProvider = "invalid-arguments")
+    public void invalidArgumentsThrow(SubSecond handler, int node, int nodeLength, int stripes,
+                                      int sequenceLength, String message) {
+        try {
+            new TimeHashIdGenerator(CLOCK, handler, node, nodeLength, stripes, sequenceLength);
+            throw new AssertionError("Expected exception");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), equalTo(message));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Year before 2014$")
+    public void invalidYearThrows() {
+        new TimeHashIdGenerator(Clock.fixed(Instant.EPOCH, ZoneOffset.UTC), SubSecond.MILLIS,
+                0, 1, 1, 1).next();
+    }
+
+}
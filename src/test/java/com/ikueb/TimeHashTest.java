@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 h-j-k. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ikueb;
+
+import com.ikueb.TimeHashUtils.SubSecond;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Iterator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TimeHashTest {
+
+    private static final LocalDateTime VALUE = LocalDateTime.of(2017, 1, 2, 3, 45, 6, 789_012_345);
+
+    @DataProvider(name = "precisions")
+    public Iterator<Object[]> getPrecisions() {
+        return EnumSet.allOf(SubSecond.class).stream()
+                .map(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testTimeHash(SubSecond handler) {
+        String expected = TimeHashUtils.hash(VALUE, handler);
+        TimeHash hash = TimeHash.of(VALUE, handler);
+        assertThat(hash.precision(), equalTo(handler));
+        assertThat(hash.length(), equalTo(expected.length()));
+        assertThat(hash.toString(), equalTo(expected));
+        assertThat(hash.charAt(0), equalTo(expected.charAt(0)));
+        assertThat(hash.subSequence(3, 6), equalTo(expected.subSequence(3, 6)));
+        assertThat(hash.toLocalDateTime(), equalTo(TimeHashUtils.unhash(expected)));
+        assertThat(hash.toEpochNanos(), equalTo(TimeHashUtils.unhashToEpochNanos(expected)));
+        assertThat(TimeHash.parse(expected), equalTo(hash));
+        assertThat(TimeHash.fromLong(hash.toLong()), equalTo(hash));
+        assertThat(TimeHash.parse(expected).hashCode(), equalTo(hash.hashCode()));
+    }
+
+    @Test
+    public void testComparison() {
+        TimeHash earlier = TimeHash.of(VALUE, SubSecond.MILLIS);
+        TimeHash later = TimeHash.of(VALUE.plusNanos(1_000_000), SubSecond.MILLIS);
+        assertThat(earlier, lessThan(later));
+        assertThat(earlier.toString(), lessThan(later.toString()));
+        assertThat(earlier, not(equalTo(TimeHash.of(VALUE, SubSecond.NANOS))));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPackedThrows() {
+        TimeHash.fromLong(TimeHash.of(VALUE, SubSecond.MILLIS).toLong() | 0b111);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid packed seconds$")
+    public void outOfRangePackedThrows() {
+        TimeHash.fromLong((0x7FFF_FFFFL << 33 | SubSecond.MILLIS.ordinal()) ^ Long.MIN_VALUE);
+    }
+
+    @Test(expectedExceptions = DateTimeException.class)
+    public void invalidDateTimeParseThrows() {
+        TimeHash.parse("46f444");
+    }
+
+}
@@ -19,21 +19,33 @@ import com.ikueb.TimeHashUtils.SubSecond;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static java.time.LocalDateTime.of;
 import static java.time.ZoneOffset.UTC;
 import static java.time.temporal.ChronoField.NANO_OF_SECOND;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.testng.Assert.expectThrows;
 
 public class TimeHashUtilsTest {
 
@@ -137,6 +149,342 @@ public class TimeHashUtilsTest {
         }
     }
 
+    @Test(dataProvider = "hash-tests")
+    public void testHashInto(LocalDateTime input, SubSecond handler, String expected) {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        char[] dest = new char[expected.length() + 2];
+        assertThat(TimeHashUtils.hashInto(input, actual, dest, 1), equalTo(expected.length()));
+        assertThat(new String(dest, 1, expected.length()), equalTo(expected));
+    }
+
+    @Test(dataProvider = "hash-tests")
+    public void testHashIntoBytes(LocalDateTime input, SubSecond handler, String expected) {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        byte[] dest = new byte[expected.length() + 2];
+        assertThat(TimeHashUtils.hashInto(input, actual, dest, 1), equalTo(expected.length()));
+        assertThat(new String(dest, 1, expected.length(), US_ASCII), equalTo(expected));
+    }
+
+    @Test(dataProvider = "hash-tests")
+    public void testHashIntoByteBuffer(LocalDateTime input, SubSecond handler, String expected) {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        for (ByteBuffer buffer : Arrays.asList(ByteBuffer.allocate(16),
+                ByteBuffer.allocateDirect(16))) {
+            buffer.position(1);
+            assertThat(TimeHashUtils.hashInto(input, actual, buffer),
+                    equalTo(expected.length()));
+            assertThat(buffer.position(), equalTo(expected.length() + 1));
+            buffer.flip().position(1);
+            assertThat(US_ASCII.decode(buffer).toString(), equalTo(expected));
+        }
+    }
+
+    @Test(dataProvider = "hash-tests")
+    public void testHashEpoch(LocalDateTime input, SubSecond handler, String expected) {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        assertThat(TimeHashUtils.hashEpochSecond(input.toEpochSecond(UTC), input.getNano(),
+                actual), equalTo(expected));
+        if (actual.compareTo(SubSecond.MILLIS) <= 0) {
+            assertThat(TimeHashUtils.hashEpochMilli(input.toInstant(UTC).toEpochMilli(),
+                    actual), equalTo(expected));
+        }
+    }
+
+    @Test
+    public void testHashEpochForEveryDay() {
+        LocalDateTime start = of(TimeHashUtils.YEAR_EPOCH, 1, 1, 23, 59, 59, 999_000_000);
+        for (LocalDateTime value = start; value.getYear() <= TimeHashUtils.YEAR_MAX;
+             value = value.plusDays(1)) {
+            assertThat(TimeHashUtils.hashEpochMilli(value.toInstant(UTC).toEpochMilli(),
+                    SubSecond.MILLIS), equalTo(TimeHashUtils.hash(value, SubSecond.MILLIS)));
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Year before 2014$")
+    public void invalidEpochYearThrows() {
+        TimeHashUtils.hashEpochMilli(-1, SubSecond.MILLIS);
+    }
+
+    @DataProvider(name = "bulk-hash-tests")
+    public Iterator<Object[]> getBulkHashTestCases() {
+        return Stream.of(TimeUnit.SECONDS, TimeUnit.MILLISECONDS, TimeUnit.MICROSECONDS,
+                TimeUnit.NANOSECONDS)
+                .flatMap(unit -> EnumSet.allOf(SubSecond.class).stream()
+                        .map(handler -> new Object[]{unit, handler}))
+                .iterator();
+    }
+
+    @Test(dataProvider = "bulk-hash-tests")
+    public void testBulkHash(TimeUnit unit, SubSecond handler) {
+        Random random = new Random(0);
+        long start = unit.convert(of(2017, 1, 1, 23, 59).toEpochSecond(UTC), TimeUnit.SECONDS);
+        long[] values = LongStream.concat(
+                LongStream.iterate(start, v -> v + random.nextInt(3) * unit.convert(
+                        random.nextInt(20_000), TimeUnit.MILLISECONDS)).limit(1_000),
+                random.longs(1_000, start, start + unit.convert(1_000, TimeUnit.DAYS)))
+                .toArray();
+        int stride = handler.length();
+        char[] chars = new char[values.length * stride + 1];
+        byte[] bytes = new byte[values.length * stride + 1];
+        assertThat(TimeHashUtils.hash(values, unit, handler, chars, 1),
+                equalTo(values.length * stride));
+        assertThat(TimeHashUtils.hash(values, unit, handler, bytes, 1),
+                equalTo(values.length * stride));
+        for (int i = 0; i < values.length; i++) {
+            long nanos = TimeUnit.NANOSECONDS.convert(values[i], unit);
+            String expected = TimeHashUtils.hashEpochSecond(nanos / 1_000_000_000L,
+                    (int) (nanos % 1_000_000_000L), handler);
+            assertThat(new String(chars, 1 + i * stride, stride), equalTo(expected));
+            assertThat(new String(bytes, 1 + i * stride, stride, US_ASCII), equalTo(expected));
+        }
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testBulkUnhash(SubSecond handler) {
+        Random random = new Random(0);
+        long start = of(2017, 1, 1, 23, 59).toEpochSecond(UTC);
+        long[] values = random.longs(1_000, start, start + TimeUnit.DAYS.toSeconds(1_000))
+                .toArray();
+        int stride = handler.length() + 2;
+        char[] chars = new char[values.length * stride + 1];
+        Arrays.fill(chars, ',');
+        String[] hashes = new String[values.length];
+        long[] expected = new long[values.length];
+        BitSet expectedInvalid = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            hashes[i] = TimeHashUtils.hashEpochSecond(values[i], random.nextInt(1_000_000_000),
+                    handler);
+            if (i % 7 == 0) {
+                hashes[i] = hashes[i].substring(0, 2) + 'z' + hashes[i].substring(3);
+                expected[i] = TimeHashUtils.INVALID;
+                expectedInvalid.set(i);
+            } else {
+                expected[i] = TimeHashUtils.unhashToEpochNanos(hashes[i]);
+            }
+            hashes[i].getChars(0, handler.length(), chars, 1 + i * stride);
+        }
+        byte[] bytes = new String(chars).getBytes(US_ASCII);
+        int invalidCount = expectedInvalid.cardinality();
+        long[] actual = new long[values.length];
+        BitSet invalid = new BitSet();
+        assertThat(TimeHashUtils.unhash(hashes, actual, invalid), equalTo(invalidCount));
+        assertThat(actual, equalTo(expected));
+        assertThat(invalid, equalTo(expectedInvalid));
+        actual = new long[values.length];
+        invalid = new BitSet();
+        assertThat(TimeHashUtils.unhash(chars, 1, stride, handler, actual, invalid),
+                equalTo(invalidCount));
+        assertThat(actual, equalTo(expected));
+        assertThat(invalid, equalTo(expectedInvalid));
+        for (TimeHashUtils.ColumnDecoder decoder : Arrays.asList(
+                TimeHashUtils.SCALAR_DECODER, TimeHashUtils.COLUMN_DECODER)) {
+            actual = new long[values.length];
+            invalid = new BitSet();
+            assertThat(TimeHashUtils.unhash(bytes, 1, stride, handler, actual, invalid, decoder),
+                    equalTo(invalidCount));
+            assertThat(actual, equalTo(expected));
+            assertThat(invalid, equalTo(expectedInvalid));
+        }
+    }
+
+    @DataProvider(name = "column-decoder-tests")
+    public Iterator<Object[]> getColumnDecoderTestCases() {
+        byte[] everyByte = new byte[256];
+        for (int i = 0; i < everyByte.length; i++) {
+            everyByte[i] = (byte) i;
+        }
+        byte[] everyDigit = "456789BCDFGHJKLMNPQRSTVWXYZbcdfghjklmnpqrstvwxyz"
+                .getBytes(US_ASCII);
+        return EnumSet.allOf(SubSecond.class).stream()
+                .flatMap(handler -> Stream.of(new Object[]{handler, everyByte},
+                        new Object[]{handler, everyDigit}))
+                .iterator();
+    }
+
+    @Test(dataProvider = "column-decoder-tests")
+    public void testColumnDecoders(SubSecond handler, byte[] replacements) {
+        byte[] hash = TimeHashUtils.hash(of(2017, 1, 2, 3, 45, 6, 789_012_345), handler)
+                .getBytes(US_ASCII);
+        int length = handler.length();
+        byte[] bytes = new byte[replacements.length * length * length];
+        for (int i = 0; i < bytes.length; i += length) {
+            System.arraycopy(hash, 0, bytes, i, length);
+            bytes[i + i / length % length] = replacements[i / length / length];
+        }
+        long[] expected = new long[bytes.length / length];
+        BitSet expectedInvalid = new BitSet();
+        int invalidCount = TimeHashUtils.unhash(bytes, 0, length, handler, expected,
+                expectedInvalid, TimeHashUtils.SCALAR_DECODER);
+        long[] actual = new long[expected.length];
+        BitSet invalid = new BitSet();
+        assertThat(TimeHashUtils.unhash(bytes, 0, length, handler, actual, invalid,
+                TimeHashUtils.COLUMN_DECODER), equalTo(invalidCount));
+        assertThat(actual, equalTo(expected));
+        assertThat(invalid, equalTo(expectedInvalid));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(expected[i], equalTo(TimeHashUtils.tryUnhashToEpochNanos(
+                    new String(bytes, i * length, length, US_ASCII))));
+        }
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testColumnDecodersForSubSeconds(SubSecond handler) {
+        byte[] digits = "456789BCDFGHJKLMNPQRSTVWXYZbcdfghjklmnpqrstvwxyz".getBytes(US_ASCII);
+        byte[] hash = TimeHashUtils.hash(of(2017, 1, 2, 3, 45), handler).getBytes(US_ASCII);
+        int length = handler.length();
+        long steps = 1_000_000_000L / handler.unit();
+        Random random = new Random(0);
+        long[] values = LongStream.concat(LongStream.of(0, steps - 1, steps, steps + 1),
+                random.longs(2_000, 0, (long) Math.pow(digits.length, length - 6)))
+                .toArray();
+        byte[] bytes = new byte[values.length * length];
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(hash, 0, bytes, i * length, 6);
+            long value = values[i];
+            for (int j = (i + 1) * length - 1; j >= i * length + 6; j--) {
+                bytes[j] = digits[(int) (value % digits.length)];
+                value /= digits.length;
+            }
+        }
+        long[] expected = new long[values.length];
+        BitSet expectedInvalid = new BitSet();
+        int invalidCount = TimeHashUtils.unhash(bytes, 0, length, handler, expected,
+                expectedInvalid, TimeHashUtils.SCALAR_DECODER);
+        long[] actual = new long[expected.length];
+        BitSet invalid = new BitSet();
+        assertThat(TimeHashUtils.unhash(bytes, 0, length, handler, actual, invalid,
+                TimeHashUtils.COLUMN_DECODER), equalTo(invalidCount));
+        assertThat(actual, equalTo(expected));
+        assertThat(invalid, equalTo(expectedInvalid));
+        assertThat(expectedInvalid.get(1), equalTo(false));
+        assertThat(expectedInvalid.get(2), equalTo(length > 6));
+    }
+
+    @Test
+    public void testBulkUnhashMixed() {
+        String[] hashes = {"455444", "455444z", null, "4554445", "455444*", "455444zzzzzz"};
+        long[] actual = new long[hashes.length];
+        BitSet invalid = new BitSet();
+        assertThat(TimeHashUtils.unhash(hashes, actual, invalid), equalTo(4));
+        assertThat(actual[0], equalTo(TimeHashUtils.unhashToEpochNanos("455444")));
+        assertThat(actual[3], equalTo(TimeHashUtils.unhashToEpochNanos("4554445")));
+        assertThat(invalid, equalTo(BitSet.valueOf(new long[]{0b110110})));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Stride is shorter than 8$")
+    public void bulkUnhashShortStrideThrows() {
+        TimeHashUtils.unhash(new char[16], 0, 7, SubSecond.MILLIS, new long[2], new BitSet());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void bulkUnhashInsufficientCharsThrows() {
+        TimeHashUtils.unhash(new char[15], 0, 8, SubSecond.MILLIS, new long[2], new BitSet());
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void bulkUnhashInsufficientBytesThrows() {
+        TimeHashUtils.unhash(new byte[17], 2, 8, SubSecond.MILLIS, new long[2], new BitSet());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Unit is coarser than seconds: MINUTES$")
+    public void coarseBulkUnitThrows() {
+        TimeHashUtils.hash(new long[1], TimeUnit.MINUTES, SubSecond.TRIM, new char[6], 0);
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testParallelBulk(SubSecond handler) {
+        Random random = new Random(0);
+        long start = TimeUnit.SECONDS.toNanos(of(2017, 1, 1, 23, 59).toEpochSecond(UTC));
+        long[] values = random.longs(50_000, start, start + TimeUnit.DAYS.toNanos(1_000))
+                .toArray();
+        int stride = handler.length();
+        byte[] expected = new byte[values.length * stride + 1];
+        TimeHashUtils.hash(values, TimeUnit.NANOSECONDS, handler, expected, 1);
+        for (int i = 0; i < values.length; i += 4_099) {
+            expected[1 + i * stride] = '*';
+        }
+        long[] expectedNanos = new long[values.length];
+        BitSet expectedInvalid = new BitSet();
+        int invalidCount = TimeHashUtils.unhash(expected, 1, stride, handler, expectedNanos,
+                expectedInvalid);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (ForkJoinPool current : Arrays.asList(ForkJoinPool.commonPool(), pool)) {
+                byte[] bytes = new byte[expected.length];
+                assertThat(TimeHashUtils.parallelHash(values, TimeUnit.NANOSECONDS, handler,
+                        bytes, 1, current), equalTo(values.length * stride));
+                for (int i = 0; i < values.length; i += 4_099) {
+                    bytes[1 + i * stride] = '*';
+                }
+                assertThat(bytes, equalTo(expected));
+                long[] actual = new long[values.length];
+                BitSet invalid = new BitSet();
+                assertThat(TimeHashUtils.parallelUnhash(bytes, 1, stride, handler, actual,
+                        invalid, current), equalTo(invalidCount));
+                assertThat(actual, equalTo(expectedNanos));
+                assertThat(invalid, equalTo(expectedInvalid));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void parallelHashInvalidYearThrows() {
+        long[] values = new long[20_000];
+        Arrays.fill(values, of(2017, 1, 1, 0, 0).toEpochSecond(UTC));
+        values[values.length - 1] = 0;
+        TimeHashUtils.parallelHash(values, TimeUnit.SECONDS, SubSecond.TRIM,
+                new byte[values.length * 6], 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Unit is coarser than seconds: MINUTES$")
+    public void coarseParallelUnitThrows() {
+        TimeHashUtils.parallelHash(new long[0], TimeUnit.MINUTES, SubSecond.TRIM, new byte[0],
+                0);
+    }
+
+    @Test(dataProvider = "hash-tests")
+    public void testAppendTo(LocalDateTime input, SubSecond handler, String expected)
+            throws IOException {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        StringBuilder builder = new StringBuilder("[");
+        assertThat(TimeHashUtils.appendTo(builder, input, actual).append(']').toString(),
+                equalTo("[" + expected + "]"));
+        StringWriter writer = new StringWriter();
+        TimeHashUtils.appendTo(writer, input, actual);
+        assertThat(writer.toString(), equalTo(expected));
+    }
+
+    @Test(expectedExceptions = BufferOverflowException.class)
+    public void insufficientBufferThrows() {
+        TimeHashUtils.hashInto(TestCase.ASC.temporal, SubSecond.NANOS, ByteBuffer.allocate(11));
+    }
+
+    @Test
+    public void testEncodersForEverySecondOfDay() {
+        char[] table = new char[8];
+        char[] arithmetic = new char[8];
+        LocalDateTime start = of(2017, 1, 2, 0, 0);
+        for (int i = 0; i < 86_400; i++) {
+            LocalDateTime value = start.plusSeconds(i).withNano(i % 1_000 * 1_000_000);
+            TimeHashUtils.hashInto(value, SubSecond.MILLIS, table, 0,
+                    TimeHashUtils.Encoder.TABLE);
+            TimeHashUtils.hashInto(value, SubSecond.MILLIS, arithmetic, 0,
+                    TimeHashUtils.Encoder.ARITHMETIC);
+            assertThat(table, equalTo(arithmetic));
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void insufficientCapacityThrows() {
+        TimeHashUtils.hashInto(TestCase.ASC.temporal, SubSecond.NANOS, new char[12], 1);
+    }
+
     @DataProvider(name = "unhash-tests")
     public Iterator<Object[]> getUnhashTestCases() {
         return EnumSet.allOf(TestCase.class).stream()
@@ -152,6 +500,310 @@ public class TimeHashUtilsTest {
         }
     }
 
+    @Test(dataProvider = "unhash-tests")
+    public void testUnhashToEpoch(String input, SubSecond handler, LocalDateTime expected) {
+        Instant instant = expected.toInstant(UTC);
+        assertThat(TimeHashUtils.unhashToEpochNanos(input),
+                equalTo(instant.getEpochSecond() * 1_000_000_000L + instant.getNano()));
+        assertThat(TimeHashUtils.unhashToEpochMillis(input), equalTo(instant.toEpochMilli()));
+    }
+
+    @Test(dataProvider = "unhash-tests")
+    public void testUnhashSlice(String input, SubSecond handler, LocalDateTime expected) {
+        CharSequence line = new StringBuilder("ts=").append(input).append(" level=INFO");
+        assertThat(TimeHashUtils.unhash(line, 3, input.length()), equalTo(expected));
+        assertThat(TimeHashUtils.unhashToEpochNanos(line, 3, input.length()),
+                equalTo(TimeHashUtils.unhashToEpochNanos(input)));
+        assertThat(TimeHashUtils.unhashToEpochMillis(line, 3, input.length()),
+                equalTo(TimeHashUtils.unhashToEpochMillis(input)));
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void outOfBoundsSliceThrows() {
+        TimeHashUtils.unhash("ts=7569sQNT", 4, 8);
+    }
+
+    @Test
+    public void testUnhashToEpochForEveryDay() {
+        LocalDateTime start = of(TimeHashUtils.YEAR_EPOCH, 1, 1, 23, 59, 59, 999_000_000);
+        for (LocalDateTime value = start; value.getYear() <= TimeHashUtils.YEAR_MAX;
+             value = value.plusDays(1)) {
+            assertThat(TimeHashUtils.unhashToEpochMillis(
+                    TimeHashUtils.hash(value, SubSecond.MILLIS)),
+                    equalTo(value.toInstant(UTC).toEpochMilli()));
+        }
+    }
+
+    @DataProvider(name = "length-validation-exception-tests")
+    public Iterator<Object[]> getLengthValidationExceptionCases() {
+        return getLengthValidationExceptionParameters().iterator();
+    }
+
+    private static Stream<Object[]> getLengthValidationExceptionParameters() {
+        return Stream.of(null, "", "45544", "*55444", "455444*", "4554444444444")
+                .map(v -> new Object[]{v});
+    }
+
+    @Test(dataProvider = "length-validation-exception-tests",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^(Does|Subsecond does) not match pattern: .*")
+    public void invalidUnhashThrows(String input) {
+        TimeHashUtils.unhash(input);
+    }
+
+    @Test(dataProvider = "length-validation-exception-tests",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^(Does|Subsecond does) not match pattern: .*")
+    public void invalidUnhashToEpochThrows(String input) {
+        TimeHashUtils.unhashToEpochNanos(input);
+    }
+
+    @DataProvider(name = "invalid-date-time-tests")
+    public Iterator<Object[]> getInvalidDateTimeCases() {
+        return getInvalidDateTimeParameters().iterator();
+    }
+
+    private static Stream<Object[]> getInvalidDateTimeParameters() {
+        return Stream.of("46f444", "4K5444", "455zzz", "455444z", "455444zzzzzz")
+                .map(v -> new Object[]{v});
+    }
+
+    @Test(dataProvider = "invalid-date-time-tests",
+            expectedExceptions = DateTimeException.class)
+    public void invalidDateTimeThrows(String input) {
+        TimeHashUtils.unhash(input);
+    }
+
+    @Test(dataProvider = "invalid-date-time-tests",
+            expectedExceptions = DateTimeException.class)
+    public void invalidEpochDateTimeThrows(String input) {
+        TimeHashUtils.unhashToEpochNanos(input);
+    }
+
+    @DataProvider(name = "invalid-sub-second-field-tests")
+    public Iterator<Object[]> getInvalidSubSecondFieldCases() {
+        return Stream.of(
+                new Object[]{"7569sQz", "MilliOfSecond (valid values 0 - 999): 1175"},
+                new Object[]{"7569sQzz", "MilliOfSecond (valid values 0 - 999): 2303"},
+                new Object[]{"7569sQzzz", "MicroOfSecond (valid values 0 - 999999): 1105910"},
+                new Object[]{"7569sQzzzz",
+                        "NanoOfSecond (valid values 0 - 999999999): 1061683000"},
+                new Object[]{"7569sQzzzzz",
+                        "NanoOfSecond (valid values 0 - 999999999): 1019215868"})
+                .iterator();
+    }
+
+    @Test(dataProvider = "invalid-sub-second-field-tests")
+    public void invalidSubSecondThrowsForItsField(String input, String expected) {
+        assertThat(expectThrows(DateTimeException.class, () -> TimeHashUtils.unhash(input))
+                .getMessage(), equalTo("Invalid value for " + expected));
+        assertThat(expectThrows(DateTimeException.class,
+                () -> TimeHashUtils.unhashToEpochNanos(input)).getMessage(),
+                equalTo("Invalid value for " + expected));
+        assertThat(expectThrows(DateTimeException.class,
+                () -> TimeHashUtils.convert(input, SubSecond.TRIM)).getMessage(),
+                equalTo("Invalid value for " + expected));
+    }
+
+    @Test(dataProvider = "unhash-tests")
+    public void testTryUnhash(String input, SubSecond handler, LocalDateTime expected) {
+        assertThat(TimeHashUtils.tryUnhash(input), equalTo(Optional.of(expected)));
+        assertThat(TimeHashUtils.tryUnhashToEpochNanos(input),
+                equalTo(TimeHashUtils.unhashToEpochNanos(input)));
+        assertThat(TimeHashUtils.tryUnhashToEpochMillis(input),
+                equalTo(TimeHashUtils.unhashToEpochMillis(input)));
+    }
+
+    @Test(dataProvider = "unhash-tests")
+    public void testTryUnhashBytes(String input, SubSecond handler, LocalDateTime expected) {
+        SubSecond precision = EnumSet.allOf(SubSecond.class).stream()
+                .filter(v -> v.length() == input.length()).findFirst().get();
+        byte[] src = (" " + input + " ").getBytes(US_ASCII);
+        assertThat(TimeHashUtils.tryUnhashToEpochNanos(src, 1, precision),
+                equalTo(TimeHashUtils.unhashToEpochNanos(input)));
+        for (int i = 1; i <= input.length(); i++) {
+            byte[] invalid = src.clone();
+            invalid[i] = (byte) (i % 2 == 0 ? 'A' : 0xB4);
+            assertThat(TimeHashUtils.tryUnhashToEpochNanos(invalid, 1, precision),
+                    equalTo(TimeHashUtils.INVALID));
+        }
+    }
+
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void tryUnhashInsufficientBytesThrows() {
+        TimeHashUtils.tryUnhashToEpochNanos(new byte[12], 5, SubSecond.MILLIS);
+    }
+
+    @DataProvider(name = "invalid-tests")
+    public Iterator<Object[]> getInvalidCases() {
+        return Stream.concat(getLengthValidationExceptionParameters(),
+                getInvalidDateTimeParameters()).iterator();
+    }
+
+    @Test(dataProvider = "invalid-tests")
+    public void testTryUnhashInvalid(String input) {
+        assertThat(TimeHashUtils.tryUnhash(input), equalTo(Optional.empty()));
+        assertThat(TimeHashUtils.tryUnhashToEpochNanos(input), equalTo(TimeHashUtils.INVALID));
+        assertThat(TimeHashUtils.tryUnhashToEpochMillis(input),
+                equalTo(TimeHashUtils.INVALID));
+    }
+
+    @Test(dataProvider = "hash-tests")
+    public void testPacked(LocalDateTime input, SubSecond handler, String expected) {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        long packed = TimeHashUtils.toLong(expected);
+        assertThat(TimeHashUtils.toLong(input, actual), equalTo(packed));
+        assertThat(TimeHashUtils.fromLong(packed), equalTo(expected));
+        assertThat(TimeHashUtils.toLocalDateTime(packed),
+                equalTo(TimeHashUtils.unhash(expected)));
+        assertThat(TimeHashUtils.toEpochNanos(packed),
+                equalTo(TimeHashUtils.unhashToEpochNanos(expected)));
+        assertThat(TimeHashUtils.precisionOf(packed), equalTo(actual));
+    }
+
+    @Test
+    public void testPackedOrdering() {
+        Random random = new Random(0);
+        long start = of(TimeHashUtils.YEAR_EPOCH, 1, 1, 0, 0).toEpochSecond(UTC);
+        long end = of(TimeHashUtils.YEAR_MAX + 1, 1, 1, 0, 0).toEpochSecond(UTC);
+        for (SubSecond handler : SubSecond.values()) {
+            List<String> hashes = random.longs(1_000, start, end)
+                    .mapToObj(v -> TimeHashUtils.hashEpochSecond(v,
+                            random.nextInt(1_000_000_000), handler))
+                    .sorted().collect(toList());
+            long[] packed = hashes.stream().mapToLong(TimeHashUtils::toLong).toArray();
+            long[] sorted = packed.clone();
+            Arrays.sort(sorted);
+            assertThat(sorted, equalTo(packed));
+        }
+    }
+
+    @Test(dataProvider = "precisions")
+    public void testConvert(SubSecond target) {
+        LocalDateTime value = TestCase.ASC.temporal;
+        String expected = TimeHashUtils.hash(value, target);
+        for (SubSecond handler : SubSecond.values()) {
+            String hash = TimeHashUtils.hash(value, handler);
+            String converted = handler.compareTo(target) < 0
+                    ? TimeHashUtils.hash(TimeHashUtils.unhash(hash), target) : expected;
+            assertThat(TimeHashUtils.convert(hash, target), equalTo(converted));
+            assertThat(TimeHashUtils.convert(TimeHashUtils.toLong(hash), target),
+                    equalTo(TimeHashUtils.toLong(converted)));
+        }
+    }
+
+    @Test
+    public void testConvertCopiesDateTime() {
+        assertThat(TimeHashUtils.convert("46f44478", SubSecond.MILLIGROUP), equalTo("46f4449"));
+    }
+
+    @Test(dataProvider = "length-validation-exception-tests",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^(Does|Subsecond does) not match pattern: .*")
+    public void invalidConvertThrows(String input) {
+        TimeHashUtils.convert(input, SubSecond.MILLIS);
+    }
+
+    @DataProvider(name = "precisions")
+    public Iterator<Object[]> getPrecisions() {
+        return EnumSet.allOf(SubSecond.class).stream()
+                .map(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "hash-tests")
+    public void testBinary(LocalDateTime input, SubSecond handler, String expected) {
+        SubSecond actual = handler == null ? TestCase.getHandler(expected) : handler;
+        byte[] dest = new byte[actual.binaryLength() + 1];
+        assertThat(TimeHashUtils.encodeBinary(input, actual, dest, 1),
+                equalTo(actual.binaryLength()));
+        assertThat(TimeHashUtils.decodeBinary(dest, 1, actual),
+                equalTo(TimeHashUtils.unhash(expected)));
+        assertThat(TimeHashUtils.decodeBinaryToEpochNanos(dest, 1, actual),
+                equalTo(TimeHashUtils.unhashToEpochNanos(expected)));
+    }
+
+    @Test
+    public void testBinaryLengths() {
+        assertThat(EnumSet.allOf(SubSecond.class).stream()
+                        .map(SubSecond::binaryLength).collect(toList()),
+                contains(4, 5, 6, 6, 7, 8, 8));
+    }
+
+    @Test
+    public void testBinaryOrdering() {
+        Random random = new Random(0);
+        long start = of(TimeHashUtils.YEAR_EPOCH, 1, 1, 0, 0).toEpochSecond(UTC);
+        long end = of(TimeHashUtils.YEAR_MAX + 1, 1, 1, 0, 0).toEpochSecond(UTC);
+        for (SubSecond handler : SubSecond.values()) {
+            List<byte[]> keys = random.longs(1_000, start, end)
+                    .mapToObj(v -> LocalDateTime.ofEpochSecond(v,
+                            random.nextInt(1_000_000_000), UTC))
+                    .map(v -> TimeHashUtils.hash(v, handler))
+                    .sorted()
+                    .map(v -> {
+                        byte[] key = new byte[handler.binaryLength()];
+                        TimeHashUtils.encodeBinary(TimeHashUtils.unhash(v), handler, key, 0);
+                        return key;
+                    }).collect(toList());
+            for (int i = 1; i < keys.size(); i++) {
+                assertThat(compareUnsigned(keys.get(i - 1), keys.get(i)), lessThan(1));
+            }
+        }
+    }
+
+    private static int compareUnsigned(byte[] a, byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int result = Integer.compare(a[i] & 0xFF, b[i] & 0xFF);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid binary key$")
+    public void invalidBinaryThrows() {
+        TimeHashUtils.decodeBinary(new byte[]{-1, -1, -1, -1}, 0, SubSecond.TRIM);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid binary key$")
+    public void invalidHighBitBinaryThrows() {
+        TimeHashUtils.decodeBinary(new byte[]{(byte) 0x80, 0, 0, 0, 0, 0, 0, 0}, 0,
+                SubSecond.NANOS);
+    }
+
+    @DataProvider(name = "invalid-packed-tests")
+    public Iterator<Object[]> getInvalidPackedCases() {
+        long valid = TimeHashUtils.toLong(TestCase.ASC.temporal, SubSecond.MILLIS);
+        long nanos = TimeHashUtils.toLong(TestCase.ASC.temporal, SubSecond.NANOS);
+        return LongStream.of(valid | 0b111, valid + (1 << 3), nanos | ((1L << 30) - 1) << 3,
+                (0x7FFF_FFFFL << 33 | SubSecond.MILLIS.ordinal()) ^ Long.MIN_VALUE)
+                .mapToObj(v -> new Object[]{v}).iterator();
+    }
+
+    @Test(dataProvider = "invalid-packed-tests",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid packed .*")
+    public void invalidPackedThrows(long packed) {
+        TimeHashUtils.fromLong(packed);
+    }
+
+    @Test(dataProvider = "invalid-packed-tests",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid packed .*")
+    public void invalidPackedToLocalDateTimeThrows(long packed) {
+        TimeHashUtils.toLocalDateTime(packed);
+    }
+
+    @Test(dataProvider = "invalid-packed-tests",
+            expectedExceptions = IllegalArgumentException.class,
+            expectedExceptionsMessageRegExp = "^Invalid packed .*")
+    public void invalidPackedToEpochNanosThrows(long packed) {
+        TimeHashUtils.toEpochNanos(packed);
+    }
+
     @DataProvider(name = "year-validation-exception-tests")
     public Iterator<Object[]> getYearExceptionCases() {
         return IntStream.of(TimeHashUtils.YEAR_EPOCH - 1, 2062)
@@ -199,4 +851,37 @@ public class TimeHashUtilsTest {
         assertThat(potentiallyAfter.compareTo(utcNowMillis), not(equalTo(-1)));
     }
 
+    @Test
+    public void testMillisCache() {
+        TimeHashUtils.MillisCache cache = new TimeHashUtils.MillisCache();
+        long epochMilli = of(2017, 1, 2, 3, 45, 6, 789_000_000).toInstant(UTC).toEpochMilli();
+        String hash = cache.hash(epochMilli);
+        assertThat(hash, equalTo("7569sQNT"));
+        assertThat(cache.hash(epochMilli), sameInstance(hash));
+        String next = cache.hash(epochMilli + 1);
+        assertThat(next, equalTo(TimeHashUtils.hashEpochMilli(epochMilli + 1,
+                SubSecond.MILLIS)));
+        assertThat(cache.hash(epochMilli + 1), sameInstance(next));
+        assertThat(cache.hash(epochMilli), equalTo(hash));
+    }
+
+    @Test
+    public void testMillisCacheLosingRaceReturnsWinner() {
+        long epochMilli = of(2017, 1, 2, 3, 45, 6, 789_000_000).toInstant(UTC).toEpochMilli();
+        String[] winner = new String[1];
+        TimeHashUtils.MillisCache[] cache = new TimeHashUtils.MillisCache[1];
+        // the first miss lets another caller hash and cache the same millisecond first
+        cache[0] = new TimeHashUtils.MillisCache(value -> {
+            if (winner[0] == null) {
+                winner[0] = "";
+                winner[0] = cache[0].hash(value);
+            }
+            return TimeHashUtils.hashEpochMilli(value, SubSecond.MILLIS);
+        });
+        String hash = cache[0].hash(epochMilli);
+        assertThat(hash, equalTo("7569sQNT"));
+        assertThat(hash, sameInstance(winner[0]));
+        assertThat(cache[0].hash(epochMilli), sameInstance(hash));
+    }
+
 }
\ No newline at end of file